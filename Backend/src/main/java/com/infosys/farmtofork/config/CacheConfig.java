@@ -0,0 +1,67 @@
+package com.infosys.farmtofork.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.infosys.farmtofork.service.ResourceVersions;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Service-level result caches (@Cacheable on the service methods). Each cache is bounded and only
+ * the names below exist. Puts and evictions made inside a transaction are applied after it commits,
+ * so a reader never caches a row that is about to be rolled back or overwritten. Evictions also
+ * drive the ETag versions in ResourceVersions, and a value loaded while its key was evicted is not
+ * cached (VersionedCache); the cached methods use sync = true so their loads go through that check.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    // ProductService.getPage, keyed by filter + cursor + limit
+    public static final String PRODUCT_PAGES = "productPages";
+    // InventoryService.getInventoryByOwner, keyed by owner id
+    public static final String OWNER_INVENTORY = "ownerInventory";
+    // OrderService.getOrdersByCustomer, keyed by customer id
+    public static final String CUSTOMER_ORDERS = "customerOrders";
+
+    @Bean
+    public CacheManager cacheManager(ResourceVersions resourceVersions,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${app.cache.product-pages.max-entries:1000}") long productPages,
+                                     @Value("${app.cache.owner-inventory.max-entries:5000}") long ownerInventory,
+                                     @Value("${app.cache.customer-orders.max-entries:5000}") long customerOrders,
+                                     @Value("${app.cache.service.expire-after-write:10m}") Duration expireAfterWrite) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+                return new VersionedCache(super.adaptCaffeineCache(name, cache), cache, resourceVersions);
+            }
+        };
+        cacheManager.setCacheNames(List.of()); // no caches created on demand
+        cacheManager.setAllowNullValues(false);
+        cacheManager.registerCustomCache(PRODUCT_PAGES, cache(productPages, expireAfterWrite));
+        cacheManager.registerCustomCache(OWNER_INVENTORY, cache(ownerInventory, expireAfterWrite));
+        cacheManager.registerCustomCache(CUSTOMER_ORDERS, cache(customerOrders, expireAfterWrite));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    // the expiry only drops idle entries and data changed outside the services; writes evict precisely
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> cache(long maxEntries, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+}
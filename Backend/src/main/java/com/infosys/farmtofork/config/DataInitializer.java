@@ -1,5 +1,7 @@
 package com.infosys.farmtofork.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -7,48 +9,67 @@ import com.infosys.farmtofork.model.User;
 import com.infosys.farmtofork.model.Product;
 import com.infosys.farmtofork.repository.UserRepository;
 import com.infosys.farmtofork.repository.ProductRepository;
+import com.infosys.farmtofork.security.PasswordHasher;
+import com.infosys.farmtofork.service.ProductGeoIndex;
+import com.infosys.farmtofork.service.ProductSearchIndex;
+import com.infosys.farmtofork.service.ProductService;
+import com.infosys.farmtofork.service.StatsService;
 import javax.sql.DataSource;
+import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
 
 @Configuration
 public class DataInitializer {
 
+    private static final Logger log = LoggerFactory.getLogger(DataInitializer.class);
+
     @Bean
-    public CommandLineRunner initializeData(UserRepository userRepository, ProductRepository productRepository) {
+    public CommandLineRunner initializeData(UserRepository userRepository, ProductRepository productRepository,
+                                            PasswordHasher passwordHasher) {
         return args -> {
             // Create sample users if they don't exist
             if (userRepository.count() == 0) {
+                String samplePassword = passwordHasher.hash("password123").join();
                 userRepository.save(User.builder()
                         .name("Farmer John")
                         .email("farmer@example.com")
-                        .password("password123")
+                        .password(samplePassword)
                         .role("Farmer")
                         .build());
 
                 userRepository.save(User.builder()
                         .name("Retailer Bob")
                         .email("retailer@example.com")
-                        .password("password123")
+                        .password(samplePassword)
                         .role("Retailer")
                         .build());
 
                 userRepository.save(User.builder()
                         .name("Consumer Alice")
                         .email("consumer@example.com")
-                        .password("password123")
+                        .password(samplePassword)
                         .role("Consumer")
                         .build());
 
                 userRepository.save(User.builder()
                         .name("Distributor Charlie")
                         .email("distributor@example.com")
-                        .password("password123")
+                        .password(samplePassword)
                         .role("Distributor")
                         .build());
 
-                System.out.println("✓ Sample users created");
+                userRepository.save(User.builder()
+                        .name("Admin User")
+                        .email("admin@example.com")
+                        .password(samplePassword)
+                        .role("Admin")
+                        .build());
+
+                log.info("Sample users created");
             }
 
             // Create sample products if they don't exist
@@ -98,7 +119,7 @@ public class DataInitializer {
                         .location("Sample Farm")
                         .build());
 
-                System.out.println("✓ Sample products created");
+                log.info("Sample products created");
             }
         };
     }
@@ -109,13 +130,68 @@ public class DataInitializer {
             try (Connection connection = dataSource.getConnection();
                  Statement statement = connection.createStatement()) {
                 statement.execute("ALTER TABLE products MODIFY COLUMN image_url LONGTEXT");
-                System.out.println("✓ Verified products.image_url is LONGTEXT");
+                log.info("Verified products.image_url is LONGTEXT");
             } catch (SQLException ex) {
                 // Table may not exist on first boot; log only non-trivial errors
                 if (!ex.getMessage().contains("doesn't exist")) {
-                    System.err.println("⚠ Unable to resize products.image_url: " + ex.getMessage());
+                    log.warn("Unable to resize products.image_url: {}", ex.getMessage());
                 }
             }
         };
     }
+
+    @Bean
+    public CommandLineRunner migrateInlineImages(ProductRepository productRepository, ProductService productService) {
+        return args -> {
+            // One-shot move of legacy base64 images into the blob store; rows already migrated are skipped
+            List<Long> ids = productRepository.findIdsWithInlineImages();
+            if (ids.isEmpty()) {
+                return;
+            }
+
+            int migrated = 0;
+            for (Long id : ids) {
+                try {
+                    if (productService.migrateInlineImage(id)) {
+                        migrated++;
+                    }
+                } catch (RuntimeException ex) {
+                    log.warn("Unable to migrate image for product {}: {}", id, ex.getMessage());
+                }
+            }
+            log.info("Migrated {} inline product images to blob store", migrated);
+        };
+    }
+
+    @Bean
+    public CommandLineRunner reindexSearch(ProductSearchIndex searchIndex, ProductRepository productRepository) {
+        return args -> {
+            // run with --reindex-search to rebuild; a size mismatch means writes were lost or made outside the services
+            if (Arrays.asList(args).contains("--reindex-search") || searchIndex.size() != productRepository.count()) {
+                try {
+                    long indexed = searchIndex.reindex();
+                    log.info("Indexed {} products for search", indexed);
+                } catch (IOException ex) {
+                    log.warn("Unable to rebuild product search index: {}", ex.getMessage());
+                }
+            }
+        };
+    }
+
+    @Bean
+    public CommandLineRunner loadGeoIndex(ProductGeoIndex geoIndex) {
+        return args -> log.info("Indexed {} located products for nearby search", geoIndex.rebuild());
+    }
+
+    // declared last so it sees the seeded rows, which are saved without going through the services
+    @Bean
+    public CommandLineRunner rebuildStats(StatsService statsService) {
+        return args -> {
+            // run with --rebuild-stats to repair drifted counters
+            if (Arrays.asList(args).contains("--rebuild-stats") || statsService.isEmpty()) {
+                int drifted = statsService.rebuild();
+                log.info("Rebuilt dashboard statistics ({} drifted values)", drifted);
+            }
+        };
+    }
 }
@@ -0,0 +1,73 @@
+package com.infosys.farmtofork.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Local Caffeine-backed JCache regions for the Hibernate second-level and query caches.
+ * Every region is created here with its own entry limit; Hibernate is set to fail on a region
+ * it cannot find, so a new {@code @Cache} entity must be given a region below.
+ */
+@Configuration
+public class HibernateCacheConfig {
+
+    // entity regions, named in the @Cache annotations on Product and User
+    public static final String PRODUCT_REGION = "product";
+    public static final String USER_REGION = "user";
+    // catalog listing queries (ProductRepositoryImpl.findSummaries)
+    public static final String CATALOG_QUERY_REGION = "catalog";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(MeterRegistry meterRegistry,
+                                              @Value("${app.cache.product.max-entries:10000}") long productEntries,
+                                              @Value("${app.cache.user.max-entries:10000}") long userEntries,
+                                              @Value("${app.cache.catalog.max-entries:500}") long catalogEntries,
+                                              @Value("${app.cache.query.max-entries:2000}") long queryEntries) {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // a manager per context: the provider's default one is JVM-wide, so a second context would find its regions taken
+        CacheManager cacheManager = provider.getCacheManager(
+            URI.create(getClass().getName() + "-" + UUID.randomUUID()), getClass().getClassLoader());
+
+        createRegion(cacheManager, meterRegistry, PRODUCT_REGION, productEntries);
+        createRegion(cacheManager, meterRegistry, USER_REGION, userEntries);
+        createRegion(cacheManager, meterRegistry, CATALOG_QUERY_REGION, catalogEntries);
+        createRegion(cacheManager, meterRegistry, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, queryEntries);
+        // one entry per table; evicting one would make cached query results look fresh
+        createRegion(cacheManager, meterRegistry, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, 0);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheManager(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static void createRegion(CacheManager cacheManager, MeterRegistry meterRegistry, String name, long maxEntries) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate already stores disassembled entries, so skip the per-read serialization copy
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maxEntries > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        Cache<Object, Object> cache = cacheManager.createCache(name, configuration);
+        // cache.gets{result=hit|miss} per region gives the hit ratio
+        JCacheMetrics.monitor(meterRegistry, cache);
+    }
+}
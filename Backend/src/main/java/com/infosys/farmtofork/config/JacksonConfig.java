@@ -0,0 +1,94 @@
+package com.infosys.farmtofork.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.infosys.farmtofork.dto.OrderItemResponse;
+import com.infosys.farmtofork.dto.OrderResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+@Configuration
+public class JacksonConfig {
+
+    /**
+     * Hand-written serializers for the order DTOs, the largest payloads we emit (list endpoints and export).
+     * They write fields directly instead of going through bean introspection; keep them in sync with the DTOs.
+     */
+    @Bean
+    public Module responseSerializersModule() {
+        SimpleModule module = new SimpleModule("ResponseSerializers");
+        module.addSerializer(OrderResponse.class, new OrderResponseSerializer());
+        module.addSerializer(OrderItemResponse.class, new OrderItemResponseSerializer());
+        return module;
+    }
+
+    static class OrderResponseSerializer extends StdSerializer<OrderResponse> {
+        OrderResponseSerializer() {
+            super(OrderResponse.class);
+        }
+
+        @Override
+        public void serialize(OrderResponse order, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject();
+            writeNumber(gen, "id", order.getId());
+            writeNumber(gen, "customerId", order.getCustomerId());
+            gen.writeStringField("customerName", order.getCustomerName());
+            writeNumber(gen, "totalAmount", order.getTotalAmount());
+            gen.writeStringField("status", order.getStatus());
+            gen.writeStringField("createdAt", order.getCreatedAt());
+            gen.writeFieldName("items");
+            if (order.getItems() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeStartArray();
+                for (OrderItemResponse item : order.getItems()) {
+                    OrderItemResponseSerializer.writeItem(item, gen);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+
+    static class OrderItemResponseSerializer extends StdSerializer<OrderItemResponse> {
+        OrderItemResponseSerializer() {
+            super(OrderItemResponse.class);
+        }
+
+        @Override
+        public void serialize(OrderItemResponse item, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            writeItem(item, gen);
+        }
+
+        static void writeItem(OrderItemResponse item, JsonGenerator gen) throws IOException {
+            gen.writeStartObject();
+            writeNumber(gen, "id", item.getId());
+            writeNumber(gen, "productId", item.getProductId());
+            gen.writeStringField("productName", item.getProductName());
+            writeNumber(gen, "quantity", item.getQuantity());
+            writeNumber(gen, "price", item.getPrice());
+            gen.writeEndObject();
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, String name, Long value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value.longValue());
+        }
+    }
+
+    private static void writeNumber(JsonGenerator gen, String name, Double value) throws IOException {
+        if (value == null) {
+            gen.writeNullField(name);
+        } else {
+            gen.writeNumberField(name, value.doubleValue());
+        }
+    }
+}
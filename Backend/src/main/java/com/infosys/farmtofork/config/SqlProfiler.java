@@ -0,0 +1,257 @@
+package com.infosys.farmtofork.config;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+import net.ttddyy.dsproxy.proxy.SimpleResultSetProxyLogic;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listens on the proxied DataSource (see SqlProfilingConfig) and attributes every statement
+ * execution, its time and the rows it touched to the profile running on the current thread.
+ * A batch counts as one execution: it is one round trip. Rows are update counts, plus the rows
+ * read through ResultSet.next() when result sets are proxied with {@link #rowCounter()}; read
+ * rows are charged to the latest statement.
+ */
+public class SqlProfiler implements QueryExecutionListener {
+    private static final ThreadLocal<long[]> EXECUTIONS = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ThreadLocal<Profile> CURRENT = new ThreadLocal<>();
+    private static final String START_NANOS = "profiler.start";
+
+    /**
+     * Statements executed on this thread so far; callers diff two readings.
+     */
+    public static long executions() {
+        return EXECUTIONS.get()[0];
+    }
+
+    /**
+     * Starts a profile on this thread. Profiles nest: statements count towards every enclosing
+     * profile, so a test can wrap a request that the request filter profiles as well.
+     */
+    public static Profile start() {
+        Profile profile = new Profile(CURRENT.get());
+        CURRENT.set(profile);
+        return profile;
+    }
+
+    public static void stop(Profile profile) {
+        if (profile.parent == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(profile.parent);
+        }
+    }
+
+    /**
+     * Runs the work on this thread and returns what it sent to the database, for tests such as
+     * {@code SqlProfiler.profile(() -> mockMvc.perform(get("/api/orders"))).requireAtMost(3)}.
+     */
+    public static Profile profile(Callable<?> work) throws Exception {
+        Profile profile = start();
+        try {
+            work.call();
+        } finally {
+            stop(profile);
+        }
+        return profile;
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        EXECUTIONS.get()[0]++;
+        Profile profile = CURRENT.get();
+        if (profile == null) {
+            return;
+        }
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        long nanos = start != null ? System.nanoTime() - start : TimeUnit.MILLISECONDS.toNanos(execInfo.getElapsedTime());
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        profile.record(sql, nanos, updatedRows(execInfo.getResult()));
+    }
+
+    /**
+     * Result set proxies that count rows read. Only result sets pay for the interception; every
+     * other JDBC call goes straight through.
+     */
+    public static ResultSetProxyLogicFactory rowCounter() {
+        return (resultSet, connectionInfo, proxyConfig) -> {
+            ResultSetProxyLogic delegate = new SimpleResultSetProxyLogic(resultSet, connectionInfo, proxyConfig);
+            return (method, args) -> {
+                Object result = delegate.invoke(method, args);
+                if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                    Profile profile = CURRENT.get();
+                    if (profile != null) {
+                        profile.rowRead();
+                    }
+                }
+                return result;
+            };
+        };
+    }
+
+    private static long updatedRows(Object result) {
+        if (result instanceof Integer count) {
+            return Math.max(0, count);
+        }
+        if (result instanceof Long count) {
+            return Math.max(0, count);
+        }
+        if (result instanceof int[] counts) {
+            long total = 0;
+            for (int count : counts) {
+                total += Math.max(0, count);
+            }
+            return total;
+        }
+        return 0;
+    }
+
+    /**
+     * What one request (or one profiled block) sent to the database, grouped by SQL text so a
+     * statement repeated per row of an earlier result (an N+1) shows up as one entry with a count.
+     */
+    public static class Profile {
+        private static final int MAX_DISTINCT = 200;
+        private static final String OTHER = "(other statements)";
+
+        private final Profile parent;
+        private final Map<String, QueryStats> bySql = new LinkedHashMap<>();
+        private QueryStats latest;
+        private long statements;
+        private long rows;
+        private long nanos;
+
+        Profile(Profile parent) {
+            this.parent = parent;
+        }
+
+        void record(String sql, long elapsedNanos, long updated) {
+            for (Profile p = this; p != null; p = p.parent) {
+                p.add(sql, elapsedNanos, updated);
+            }
+        }
+
+        void rowRead() {
+            for (Profile p = this; p != null; p = p.parent) {
+                p.addRow();
+            }
+        }
+
+        // a profile can be read on another thread once its request moved to async processing
+        private synchronized void add(String sql, long elapsedNanos, long updated) {
+            statements++;
+            nanos += elapsedNanos;
+            rows += updated;
+            String key = bySql.size() < MAX_DISTINCT || bySql.containsKey(sql) ? sql : OTHER;
+            latest = bySql.computeIfAbsent(key, QueryStats::new);
+            latest.count++;
+            latest.nanos += elapsedNanos;
+            latest.rows += updated;
+        }
+
+        private synchronized void addRow() {
+            rows++;
+            if (latest != null) {
+                latest.rows++;
+            }
+        }
+
+        public synchronized long getStatements() {
+            return statements;
+        }
+
+        public synchronized long getRows() {
+            return rows;
+        }
+
+        public synchronized double getMillis() {
+            return nanos / 1_000_000.0;
+        }
+
+        /**
+         * The statements that took the most time in total, slowest first.
+         */
+        public synchronized List<QueryStats> top(int limit) {
+            List<QueryStats> all = new ArrayList<>();
+            for (QueryStats stats : bySql.values()) {
+                all.add(stats.copy());
+            }
+            all.sort(Comparator.comparingLong((QueryStats s) -> s.nanos).reversed());
+            return all.size() > limit ? all.subList(0, limit) : all;
+        }
+
+        public Profile requireAtMost(long maxStatements) {
+            if (getStatements() > maxStatements) {
+                throw new AssertionError("Expected at most " + maxStatements + " SQL statements but "
+                        + describe(5));
+            }
+            return this;
+        }
+
+        public String describe(int topQueries) {
+            StringBuilder out = new StringBuilder(String.format("%d statements, %d rows, %.1f ms",
+                    getStatements(), getRows(), getMillis()));
+            for (QueryStats stats : top(topQueries)) {
+                out.append("\n  ").append(stats);
+            }
+            return out.toString();
+        }
+    }
+
+    public static class QueryStats {
+        private final String sql;
+        private long count;
+        private long rows;
+        private long nanos;
+
+        QueryStats(String sql) {
+            this.sql = sql;
+        }
+
+        QueryStats copy() {
+            QueryStats copy = new QueryStats(sql);
+            copy.count = count;
+            copy.rows = rows;
+            copy.nanos = nanos;
+            return copy;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        public double getMillis() {
+            return nanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            String text = sql.replaceAll("\\s+", " ").trim();
+            return String.format("%dx %.1f ms %d rows: %s", count, getMillis(), rows,
+                    text.length() > 300 ? text.substring(0, 300) + "..." : text);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.infosys.farmtofork.config;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+/**
+ * Per-request SQL profiling without an external agent: the DataSource is wrapped in a
+ * datasource-proxy that reports to SqlProfiler, and SqlProfilingFilter gives each request its own
+ * profile. Turning this off also leaves the *.statements meters of ServiceMetrics at zero.
+ * Statements are intercepted once per execution; counting the rows read needs a proxy on every
+ * result set call, so {@code app.profiler.count-rows} is only switched on by the dev profile.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.profiler.enabled", havingValue = "true", matchIfMissing = true)
+public class SqlProfilingConfig {
+
+    // static: post-processors are created before the rest of the configuration
+    @Bean
+    public static BeanPostProcessor profilingDataSourcePostProcessor(Environment environment) {
+        SqlProfiler profiler = new SqlProfiler();
+        boolean countRows = environment.getProperty("app.profiler.count-rows", Boolean.class, false);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(profiler);
+                    if (countRows) {
+                        builder.proxyResultSet(SqlProfiler.rowCounter());
+                    }
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlProfilingFilter> sqlProfilingFilter(
+            @Value("${app.profiler.response-headers:false}") boolean responseHeaders,
+            @Value("${app.profiler.slow-request-ms:1000}") long slowRequestMs,
+            @Value("${app.profiler.top-queries:5}") int topQueries) {
+        FilterRegistrationBean<SqlProfilingFilter> registration =
+                new FilterRegistrationBean<>(new SqlProfilingFilter(responseHeaders, slowRequestMs, topQueries));
+        // ahead of the security chain, so statements issued by its filters are counted too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
@@ -0,0 +1,81 @@
+package com.infosys.farmtofork.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Profiles the SQL of each request. With response headers on (the dev profile), the counts go
+ * out as X-SQL-Statements, X-SQL-Rows and X-SQL-Time-Ms, covering the work done before the
+ * response was committed. Requests slower than the threshold are logged with their costliest
+ * statements. For async requests only the part on the request thread is seen.
+ */
+public class SqlProfilingFilter extends OncePerRequestFilter {
+    private static final Logger log = LoggerFactory.getLogger(SqlProfilingFilter.class);
+
+    private final boolean responseHeaders;
+    private final long slowRequestMs;
+    private final int topQueries;
+
+    public SqlProfilingFilter(boolean responseHeaders, long slowRequestMs, int topQueries) {
+        this.responseHeaders = responseHeaders;
+        this.slowRequestMs = slowRequestMs;
+        this.topQueries = topQueries;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        SqlProfiler.Profile profile = SqlProfiler.start();
+        ProfileHeaderResponse headerResponse = responseHeaders ? new ProfileHeaderResponse(response, profile) : null;
+        try {
+            chain.doFilter(request, headerResponse != null ? headerResponse : response);
+        } finally {
+            SqlProfiler.stop(profile);
+            if (headerResponse != null && !response.isCommitted()) {
+                // nothing was written (204, 304, empty body), so the headers can still go out now
+                headerResponse.writeHeaders();
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (slowRequestMs > 0 && elapsedMs >= slowRequestMs) {
+                log.warn("Slow request {} {} took {} ms with {}", request.getMethod(), request.getRequestURI(),
+                        elapsedMs, profile.describe(topQueries));
+            }
+        }
+    }
+
+    private static final class ProfileHeaderResponse extends OnCommittedResponseWrapper {
+        private final SqlProfiler.Profile profile;
+        private boolean written;
+
+        ProfileHeaderResponse(HttpServletResponse response, SqlProfiler.Profile profile) {
+            super(response);
+            this.profile = profile;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeaders();
+        }
+
+        void writeHeaders() {
+            if (written) {
+                return;
+            }
+            written = true;
+            setHeader("X-SQL-Statements", Long.toString(profile.getStatements()));
+            setHeader("X-SQL-Rows", Long.toString(profile.getRows()));
+            setHeader("X-SQL-Time-Ms", String.format(Locale.ROOT, "%.2f", profile.getMillis()));
+        }
+    }
+}
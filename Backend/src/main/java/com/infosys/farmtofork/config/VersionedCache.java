@@ -0,0 +1,105 @@
+package com.infosys.farmtofork.config;
+
+import com.infosys.farmtofork.service.ResourceVersions;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Moves the ResourceVersions counter of every key it evicts, so ETags follow cache invalidation,
+ * and refuses to cache a value loaded while its key was being invalidated. Size- and time-based
+ * expiry inside Caffeine do not go through here and leave versions alone.
+ * <p>
+ * Only the loading get (@Cacheable with sync = true) is protected: it notes the version before the
+ * load and stores the result only if the version is unchanged, in one atomic step on the key. An
+ * eviction bumps the version before it removes the entry, so a stale value either is never stored
+ * or is stored just before the removal that drops it.
+ */
+class VersionedCache implements Cache {
+    private final Cache delegate;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache;
+    private final ResourceVersions versions;
+
+    VersionedCache(Cache delegate, com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache,
+                   ResourceVersions versions) {
+        this.delegate = delegate;
+        this.nativeCache = nativeCache;
+        this.versions = versions;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return nativeCache;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = nativeCache.getIfPresent(key);
+        if (cached != null) {
+            return (T) cached;
+        }
+        long version = versions.version(getName(), key);
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+        if (value != null) {
+            nativeCache.asMap().compute(key, (k, current) ->
+                    versions.version(getName(), k) == version ? value : current);
+        }
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        return delegate.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        versions.bump(getName(), key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        // bump even when nothing was cached: the data behind the key still changed
+        versions.bump(getName(), key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        versions.bumpAll(getName());
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        versions.bumpAll(getName());
+        return delegate.invalidate();
+    }
+}
@@ -1,18 +1,27 @@
 package com.infosys.farmtofork.controller;
 
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.io.IOException;
 import java.util.List;
+import com.infosys.farmtofork.config.CacheConfig;
+import com.infosys.farmtofork.dto.CursorPage;
 import com.infosys.farmtofork.dto.OrderRequest;
 import com.infosys.farmtofork.dto.OrderResponse;
 import com.infosys.farmtofork.service.OrderService;
+import com.infosys.farmtofork.service.ResourceVersions;
 
 @RestController
 @RequestMapping("/api/orders")
 public class OrderController {
     private final OrderService orderService;
+    private final ResourceVersions resourceVersions;
 
-    public OrderController(OrderService orderService) {
+    public OrderController(OrderService orderService, ResourceVersions resourceVersions) {
         this.orderService = orderService;
+        this.resourceVersions = resourceVersions;
     }
 
     @PostMapping
@@ -25,16 +34,41 @@ public class OrderController {
         return orderService.getAllOrders();
     }
 
+    @GetMapping("/page")
+    public CursorPage<OrderResponse> page(@RequestParam(required = false) Long after,
+                                          @RequestParam(required = false) Integer limit) {
+        return orderService.getOrderPage(after, limit);
+    }
+
+    @GetMapping("/export")
+    public void export(@RequestParam(defaultValue = "ndjson") String format, HttpServletResponse response) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"orders." + (csv ? "csv" : "ndjson") + "\"");
+        orderService.exportOrders(format, response.getOutputStream());
+    }
+
     @GetMapping("/{id}")
     public OrderResponse get(@PathVariable Long id) {
         return orderService.getOrderById(id).orElseThrow(() -> new RuntimeException("Order not found"));
     }
 
     @GetMapping("/customer/{customerId}")
-    public List<OrderResponse> byCustomer(@PathVariable Long customerId) {
+    public List<OrderResponse> byCustomer(@PathVariable Long customerId, WebRequest request) {
+        if (request.checkNotModified(resourceVersions.etag(CacheConfig.CUSTOMER_ORDERS, customerId))) {
+            return null;
+        }
         return orderService.getOrdersByCustomer(customerId);
     }
 
+    @GetMapping("/customer/{customerId}/page")
+    public CursorPage<OrderResponse> customerPage(@PathVariable Long customerId,
+                                                  @RequestParam(required = false) Long after,
+                                                  @RequestParam(required = false) Integer limit) {
+        return orderService.getCustomerOrderPage(customerId, after, limit);
+    }
+
     @PutMapping("/{id}/status")
     public OrderResponse updateStatus(@PathVariable Long id, @RequestParam String status) {
         return orderService.updateOrderStatus(id, status);
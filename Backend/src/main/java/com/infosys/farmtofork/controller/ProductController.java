@@ -1,26 +1,130 @@
 package com.infosys.farmtofork.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpRange;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import com.infosys.farmtofork.config.CacheConfig;
+import com.infosys.farmtofork.dto.CursorPage;
+import com.infosys.farmtofork.dto.NearbyProduct;
+import com.infosys.farmtofork.dto.ProductFilter;
+import com.infosys.farmtofork.dto.ProductSearchQuery;
+import com.infosys.farmtofork.dto.ProductSearchResponse;
+import com.infosys.farmtofork.dto.ProductSummary;
 import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.service.ImageBlobStore;
+import com.infosys.farmtofork.service.ProductSearchIndex;
 import com.infosys.farmtofork.service.ProductService;
+import com.infosys.farmtofork.service.ResourceVersions;
 
 @RestController
 @RequestMapping("/api/products")
 public class ProductController {
+    // Tomcat NIO request attributes for kernel sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
     private final ProductService productService;
+    private final ImageBlobStore imageBlobStore;
+    private final ProductSearchIndex searchIndex;
+    private final ResourceVersions resourceVersions;
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, ImageBlobStore imageBlobStore,
+                             ProductSearchIndex searchIndex, ResourceVersions resourceVersions) {
         this.productService = productService;
+        this.imageBlobStore = imageBlobStore;
+        this.searchIndex = searchIndex;
+        this.resourceVersions = resourceVersions;
     }
 
     @GetMapping
-    public List<Product> list() {
-        return productService.getAll();
+    public CursorPage<ProductSummary> list(@RequestParam(required = false) String cropType,
+                                           @RequestParam(required = false) Product.Status status,
+                                           @RequestParam(required = false) Double minAiScore,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate harvestedAfter,
+                                           @RequestParam(required = false) Long after,
+                                           @RequestParam(required = false) Integer limit,
+                                           WebRequest request) {
+        // the catalog tag changes whenever the cached pages are cleared, i.e. on any product write
+        if (request.checkNotModified(resourceVersions.etag(CacheConfig.PRODUCT_PAGES))) {
+            return null;
+        }
+        ProductFilter filter = ProductFilter.builder()
+                .cropType(cropType)
+                .status(status)
+                .minAiScore(minAiScore)
+                .harvestedAfter(harvestedAfter)
+                .build();
+        return productService.getPage(filter, after, limit);
+    }
+
+    @GetMapping("/nearby")
+    public List<NearbyProduct> nearby(@RequestParam double lat,
+                                      @RequestParam double lon,
+                                      @RequestParam(defaultValue = "50") double radiusKm,
+                                      @RequestParam(required = false) String cropType,
+                                      @RequestParam(required = false) Integer limit) {
+        return productService.nearby(lat, lon, radiusKm, cropType, limit);
+    }
+
+    @GetMapping("/search")
+    public ProductSearchResponse search(@RequestParam(required = false) String q,
+                                        @RequestParam(required = false) String cropType,
+                                        @RequestParam(required = false) String qualityGrade,
+                                        @RequestParam(required = false) Product.Status status,
+                                        @RequestParam(required = false) String location,
+                                        @RequestParam(required = false) Double minAiScore,
+                                        @RequestParam(required = false) Double maxAiScore,
+                                        @RequestParam(defaultValue = "0") int offset,
+                                        @RequestParam(defaultValue = "20") int limit) throws IOException {
+        ProductSearchQuery query = ProductSearchQuery.builder()
+                .text(q)
+                .cropType(cropType)
+                .qualityGrade(qualityGrade)
+                .status(status)
+                .location(location)
+                .minAiScore(minAiScore)
+                .maxAiScore(maxAiScore)
+                .offset(Math.max(0, offset))
+                .limit(Math.max(1, Math.min(limit, 100)))
+                .build();
+        return searchIndex.search(query);
+    }
+
+    @PostMapping("/search/reindex")
+    public Map<String, Long> reindex() throws IOException {
+        return Map.of("indexed", searchIndex.reindex());
     }
 
     @GetMapping("/{id}")
-    public Product get(@PathVariable Long id) {
+    public Product get(@PathVariable Long id, WebRequest request) {
+        // validators come from a single column, so a revalidation never loads the product
+        Instant updatedAt = productService.getUpdatedAt(id).orElse(null);
+        if (updatedAt != null) {
+            long micros = ChronoUnit.MICROS.between(Instant.EPOCH, updatedAt);
+            String etag = "\"" + id + "-" + Long.toString(micros, 36) + "\"";
+            if (request.checkNotModified(etag, updatedAt.toEpochMilli())) {
+                return null;
+            }
+        }
         return productService.get(id);
     }
 
@@ -28,4 +132,82 @@ public class ProductController {
     public Product create(@RequestBody Product p) {
         return productService.create(p);
     }
+
+    @GetMapping("/{id}/image")
+    public void image(@PathVariable Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Product product = productService.get(id);
+        Path file = product == null ? null : imageBlobStore.find(product.getImageRef()).orElse(null);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        // blobs are content-addressed, so the hash is a strong validator
+        String etag = "\"" + product.getImageRef() + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "public, max-age=86400");
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setHeader("X-Content-Type-Options", "nosniff");
+
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && (ifNoneMatch.contains(etag) || ifNoneMatch.trim().equals("*"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            long start = 0;
+            long end = length - 1;
+
+            String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+            String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+            if (rangeHeader != null && (ifRange == null || ifRange.equals(etag))) {
+                List<HttpRange> ranges;
+                try {
+                    ranges = HttpRange.parseRanges(rangeHeader);
+                } catch (IllegalArgumentException ex) {
+                    ranges = List.of();
+                }
+                // multi-range requests fall back to the full body
+                if (ranges.size() == 1) {
+                    HttpRange range = ranges.get(0);
+                    try {
+                        start = range.getRangeStart(length);
+                        end = range.getRangeEnd(length);
+                    } catch (IllegalArgumentException ex) {
+                        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                        response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                        return;
+                    }
+                    response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+                    response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+                }
+            }
+
+            long count = end - start + 1;
+            response.setContentType(ImageBlobStore.safeContentType(product.getImageContentType()));
+            response.setContentLengthLong(count);
+
+            if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+                // let the connector hand the file straight to the socket
+                request.setAttribute(SENDFILE_FILENAME, file.toString());
+                request.setAttribute(SENDFILE_START, start);
+                request.setAttribute(SENDFILE_END, end + 1);
+                return;
+            }
+
+            OutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            long position = start;
+            while (position <= end) {
+                long sent = channel.transferTo(position, end + 1 - position, target);
+                if (sent <= 0) {
+                    break;
+                }
+                position += sent;
+            }
+            out.flush();
+        }
+    }
 }
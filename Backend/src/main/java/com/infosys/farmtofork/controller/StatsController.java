@@ -0,0 +1,26 @@
+package com.infosys.farmtofork.controller;
+
+import org.springframework.web.bind.annotation.*;
+import java.util.Map;
+import com.infosys.farmtofork.dto.StatsResponse;
+import com.infosys.farmtofork.service.StatsService;
+
+@RestController
+@RequestMapping("/api/stats")
+public class StatsController {
+    private final StatsService statsService;
+
+    public StatsController(StatsService statsService) {
+        this.statsService = statsService;
+    }
+
+    @GetMapping
+    public StatsResponse get(@RequestParam(defaultValue = "30") int days) {
+        return statsService.getStats(days);
+    }
+
+    @PostMapping("/rebuild")
+    public Map<String, Integer> rebuild() {
+        return Map.of("drifted", statsService.rebuild());
+    }
+}
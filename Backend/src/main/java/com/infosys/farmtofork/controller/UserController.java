@@ -1,32 +1,45 @@
 package com.infosys.farmtofork.controller;
 
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import com.infosys.farmtofork.model.User;
 import com.infosys.farmtofork.service.UserService;
 import com.infosys.farmtofork.dto.LoginRequest;
 import com.infosys.farmtofork.dto.LoginResponse;
+import com.infosys.farmtofork.security.AuthenticatedUser;
+import com.infosys.farmtofork.security.TokenAuthenticator;
 
 @RestController
 @RequestMapping("/api/users")
 public class UserController {
     private final UserService userService;
+    private final TokenAuthenticator tokenAuthenticator;
 
-    public UserController(UserService userService) {
+    public UserController(UserService userService, TokenAuthenticator tokenAuthenticator) {
         this.userService = userService;
+        this.tokenAuthenticator = tokenAuthenticator;
     }
 
     @PostMapping("/register")
-    public User register(@RequestBody User u) {
-        // NOTE: password should be encoded in production
+    public CompletableFuture<User> register(@RequestBody User u) {
         return userService.create(u);
     }
 
     @PostMapping("/login")
-    public LoginResponse login(@RequestBody LoginRequest request) {
+    public CompletableFuture<LoginResponse> login(@RequestBody LoginRequest request) {
         return userService.login(request);
     }
 
+    // revokes the token the request was made with
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(@AuthenticationPrincipal AuthenticatedUser user) {
+        tokenAuthenticator.revoke(user);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping
     public List<User> list() {
         return userService.list();
@@ -0,0 +1,13 @@
+package com.infosys.farmtofork.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class AiBatchScoreResult {
+
+    // one entry per submitted image, in order; failed images have no ai_score
+    private List<AiScoreResult> results;
+}
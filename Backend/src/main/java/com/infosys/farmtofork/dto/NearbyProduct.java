@@ -0,0 +1,15 @@
+package com.infosys.farmtofork.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NearbyProduct {
+    private ProductSummary product;
+    private double distanceKm; // great-circle distance from the query point
+}
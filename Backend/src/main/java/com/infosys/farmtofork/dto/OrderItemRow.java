@@ -0,0 +1,22 @@
+package com.infosys.farmtofork.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Flat order-line projection used to load the items of many orders in one query.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderItemRow {
+    private Long orderId;
+    private Long id;
+    private Long productId;
+    private String productName;
+    private Long quantity;
+    private Double price;
+}
@@ -0,0 +1,19 @@
+package com.infosys.farmtofork.dto;
+
+import com.infosys.farmtofork.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFilter {
+    private String cropType;
+    private Product.Status status;
+    private Double minAiScore;
+    private LocalDate harvestedAfter;
+}
@@ -0,0 +1,17 @@
+package com.infosys.farmtofork.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductLocation {
+    private Long id;
+    private Double latitude;
+    private Double longitude;
+    private String cropType;
+}
@@ -19,6 +19,8 @@ public class ProductResponse {
     private String qualityGrade;
     private String harvestDate; // yyyy-MM-dd
     private String location;
+    private Double latitude;
+    private Double longitude;
     private String status;
     private String imageUrl;
     private Double aiScore;
@@ -0,0 +1,26 @@
+package com.infosys.farmtofork.dto;
+
+import com.infosys.farmtofork.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Free text plus exact-match facet filters for the product search index; null fields are not applied.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSearchQuery {
+    private String text;
+    private String cropType;
+    private String qualityGrade;
+    private Product.Status status;
+    private String location;
+    private Double minAiScore;
+    private Double maxAiScore;
+    private int offset;
+    private int limit;
+}
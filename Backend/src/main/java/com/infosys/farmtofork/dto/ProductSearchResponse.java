@@ -0,0 +1,19 @@
+package com.infosys.farmtofork.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSearchResponse {
+    private long total;
+    private List<ProductSummary> items;
+    // facet field -> value -> number of matching products
+    private Map<String, Map<String, Long>> facets;
+}
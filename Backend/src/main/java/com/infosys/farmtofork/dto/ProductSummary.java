@@ -0,0 +1,35 @@
+package com.infosys.farmtofork.dto;
+
+import com.infosys.farmtofork.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+
+/**
+ * Catalog view of a product: scalar columns only, image bytes are served by /api/products/{id}/image.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSummary {
+    private Long id;
+    private String name;
+    private String cropType;
+    private Double quantityKg;
+    private String qualityGrade;
+    private LocalDate harvestDate;
+    private String location;
+    private String imageUrl;
+    private String category;
+    private String description;
+    private Double price;
+    private String unit;
+    private Double aiScore;
+    private String aiVerdict;
+    private Product.Status status;
+    private Double latitude;
+    private Double longitude;
+}
@@ -0,0 +1,20 @@
+package com.infosys.farmtofork.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StageTransitionResponse {
+    private Long id;
+    private Long inventoryId;
+    private String fromStage;
+    private String toStage;
+    private Long quantity;
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,21 @@
+package com.infosys.farmtofork.dto;
+
+import com.infosys.farmtofork.model.DashboardStat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One dashboard metric value with its slots summed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatTotal {
+    private DashboardStat.Metric metric;
+    private String metricKey;
+    private Long count;
+    private Double total;
+}
@@ -0,0 +1,19 @@
+package com.infosys.farmtofork.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StatsResponse {
+    private Map<String, Long> productsByStatus;
+    private Map<String, Double> averageAiScoreByCropType;
+    private Map<String, Double> revenueByDay;
+    private Map<String, Long> ordersByStatus;
+    private Map<String, Long> inventoryByStage;
+}
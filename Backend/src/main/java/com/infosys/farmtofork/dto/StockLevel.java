@@ -0,0 +1,25 @@
+package com.infosys.farmtofork.dto;
+
+import com.infosys.farmtofork.model.Inventory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Inventory row reduced to the columns a stock reservation needs.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class StockLevel {
+    private Long inventoryId;
+    private Long productId;
+    private Long quantity;
+    private Long version;
+    // the stage aggregate buckets this row counts towards
+    private Inventory.Stage stage;
+    private String cropType;
+    private Long ownerId;
+}
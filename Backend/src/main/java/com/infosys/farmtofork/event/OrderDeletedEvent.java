@@ -0,0 +1,11 @@
+package com.infosys.farmtofork.event;
+
+import com.infosys.farmtofork.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderDeletedEvent {
+    private final Order order;
+}
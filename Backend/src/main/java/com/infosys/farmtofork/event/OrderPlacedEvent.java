@@ -0,0 +1,14 @@
+package com.infosys.farmtofork.event;
+
+import com.infosys.farmtofork.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by OrderService inside the create transaction.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderPlacedEvent {
+    private final Order order;
+}
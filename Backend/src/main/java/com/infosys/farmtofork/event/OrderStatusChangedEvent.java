@@ -0,0 +1,12 @@
+package com.infosys.farmtofork.event;
+
+import com.infosys.farmtofork.model.Order;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrderStatusChangedEvent {
+    private final Order order;
+    private final String previousStatus;
+}
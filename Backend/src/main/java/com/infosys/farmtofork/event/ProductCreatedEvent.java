@@ -0,0 +1,14 @@
+package com.infosys.farmtofork.event;
+
+import com.infosys.farmtofork.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by ProductService inside the create transaction; listeners usually react after commit.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductCreatedEvent {
+    private final Product product;
+}
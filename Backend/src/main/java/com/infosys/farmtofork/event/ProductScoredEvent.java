@@ -0,0 +1,16 @@
+package com.infosys.farmtofork.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a product receives its first AI score or verdict after creation. The score is null
+ * when the product was marked unscorable.
+ */
+@Getter
+@AllArgsConstructor
+public class ProductScoredEvent {
+    private final Long productId;
+    private final String cropType;
+    private final Double aiScore;
+}
@@ -0,0 +1,14 @@
+package com.infosys.farmtofork.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import java.util.Set;
+
+/**
+ * Published by StockReservationService inside the order transaction once stock has been taken.
+ */
+@Getter
+@AllArgsConstructor
+public class StockReservedEvent {
+    private final Set<Long> productIds;
+}
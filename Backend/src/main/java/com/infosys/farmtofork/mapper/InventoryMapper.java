@@ -0,0 +1,50 @@
+package com.infosys.farmtofork.mapper;
+
+import com.infosys.farmtofork.dto.InventoryResponse;
+import com.infosys.farmtofork.dto.StageTransitionResponse;
+import com.infosys.farmtofork.dto.UserResponse;
+import com.infosys.farmtofork.model.Inventory;
+import com.infosys.farmtofork.model.StageTransition;
+import com.infosys.farmtofork.model.User;
+import org.springframework.stereotype.Component;
+
+@Component
+public class InventoryMapper {
+    private final ProductMapper productMapper;
+
+    public InventoryMapper(ProductMapper productMapper) {
+        this.productMapper = productMapper;
+    }
+
+    public InventoryResponse toResponse(Inventory inventory) {
+        return InventoryResponse.builder()
+                .id(inventory.getId())
+                .quantity(inventory.getQuantity())
+                .product(inventory.getProduct() != null ? productMapper.toResponse(inventory.getProduct()) : null)
+                .owner(inventory.getOwner() != null ? toUserResponse(inventory.getOwner()) : null)
+                .stage(inventory.getStage() != null ? inventory.getStage().getCode() : null)
+                .build();
+    }
+
+    public StageTransitionResponse toTransitionResponse(StageTransition transition) {
+        return StageTransitionResponse.builder()
+                .id(transition.getId())
+                .inventoryId(transition.getInventoryId())
+                .fromStage(transition.getFromStage() != null ? transition.getFromStage().getCode() : null)
+                .toStage(transition.getToStage().getCode())
+                .quantity(transition.getQuantity())
+                .occurredAt(transition.getOccurredAt())
+                .build();
+    }
+
+    public UserResponse toUserResponse(User user) {
+        return UserResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .role(user.getRole())
+                .latitude(user.getLatitude())
+                .longitude(user.getLongitude())
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.infosys.farmtofork.mapper;
+
+import com.infosys.farmtofork.dto.OrderItemResponse;
+import com.infosys.farmtofork.dto.OrderItemRow;
+import com.infosys.farmtofork.dto.OrderResponse;
+import com.infosys.farmtofork.model.Order;
+import com.infosys.farmtofork.model.OrderItem;
+import org.springframework.stereotype.Component;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+@Component
+public class OrderMapper {
+
+    // DateTimeFormatter is immutable and thread-safe, unlike the SimpleDateFormat it replaces
+    public static final DateTimeFormatter CREATED_AT_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    public OrderResponse toResponse(Order order) {
+        List<OrderItem> source = order.getItems();
+        List<OrderItemResponse> items = new ArrayList<>(source.size());
+        for (OrderItem item : source) {
+            items.add(toItemResponse(item));
+        }
+        return toResponse(order, items);
+    }
+
+    public OrderResponse toResponse(Order order, List<OrderItemResponse> items) {
+        return OrderResponse.builder()
+                .id(order.getId())
+                .customerId(order.getCustomer().getId())
+                .customerName(order.getCustomer().getName())
+                .totalAmount(order.getTotalAmount())
+                .status(order.getStatus())
+                .createdAt(formatCreatedAt(order.getCreatedAt()))
+                .items(items)
+                .build();
+    }
+
+    public OrderItemResponse toItemResponse(OrderItem item) {
+        return OrderItemResponse.builder()
+                .id(item.getId())
+                .productId(item.getProduct().getId())
+                .productName(item.getProduct().getName())
+                .quantity(item.getQuantity())
+                .price(item.getPrice())
+                .build();
+    }
+
+    public OrderItemResponse toItemResponse(OrderItemRow row) {
+        return OrderItemResponse.builder()
+                .id(row.getId())
+                .productId(row.getProductId())
+                .productName(row.getProductName())
+                .quantity(row.getQuantity())
+                .price(row.getPrice())
+                .build();
+    }
+
+    public static String formatCreatedAt(Date createdAt) {
+        // Date.toInstant also covers java.sql.Timestamp loaded from the database
+        return createdAt != null ? CREATED_AT_FORMAT.format(createdAt.toInstant()) : null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.infosys.farmtofork.mapper;
+
+import com.infosys.farmtofork.dto.ProductResponse;
+import com.infosys.farmtofork.model.Product;
+import org.springframework.stereotype.Component;
+
+import java.time.format.DateTimeFormatter;
+
+@Component
+public class ProductMapper {
+
+    public static final DateTimeFormatter HARVEST_DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE; // yyyy-MM-dd
+
+    public ProductResponse toResponse(Product product) {
+        // map new Product fields to DTO; keep `category` for UI compatibility
+        return ProductResponse.builder()
+                .id(product.getId())
+                .name(product.getName())
+                .cropType(product.getCropType())
+                .category(product.getCropType())
+                .quantityKg(product.getQuantityKg())
+                .qualityGrade(product.getQualityGrade())
+                .harvestDate(product.getHarvestDate() != null ? HARVEST_DATE_FORMAT.format(product.getHarvestDate()) : null)
+                .location(product.getLocation())
+                .latitude(product.getLatitude())
+                .longitude(product.getLongitude())
+                .status(product.getStatus() != null ? product.getStatus().name() : null)
+                .imageUrl(product.getImageUrl())
+                .aiScore(product.getAiScore())
+                .aiVerdict(product.getAiVerdict())
+                .price(product.getPrice())
+                .build();
+    }
+}
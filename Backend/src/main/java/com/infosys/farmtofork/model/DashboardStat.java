@@ -0,0 +1,63 @@
+package com.infosys.farmtofork.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+
+/**
+ * Incrementally maintained dashboard counter. Each (metric, key) is spread over a few slots so
+ * concurrent writers rarely wait on the same row; readers sum the slots.
+ */
+@Entity
+@Table(name = "dashboard_stats")
+@IdClass(DashboardStat.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class DashboardStat {
+
+    public enum Metric {
+        PRODUCT_STATUS, // key: Product.Status
+        CROP_AI_SCORE,  // key: crop type; count of scored products, total of their scores
+        ORDER_STATUS,   // key: order status
+        REVENUE_DAY     // key: yyyy-MM-dd; orders placed that day, excluding cancelled ones
+    }
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "metric", length = 32)
+    private Metric metric;
+
+    @Id
+    @Column(name = "metric_key", length = 100)
+    private String metricKey;
+
+    @Id
+    @Column(name = "slot")
+    private Integer slot;
+
+    @Column(name = "item_count", nullable = false)
+    private Long count;
+
+    @Column(name = "total", nullable = false)
+    private Double total;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable, Comparable<Key> {
+        private Metric metric;
+        private String metricKey;
+        private Integer slot;
+
+        @Override
+        public int compareTo(Key other) {
+            int c = metric.compareTo(other.metric);
+            if (c == 0) {
+                c = metricKey.compareTo(other.metricKey);
+            }
+            return c != 0 ? c : slot.compareTo(other.slot);
+        }
+    }
+}
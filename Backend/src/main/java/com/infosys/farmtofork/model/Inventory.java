@@ -8,7 +8,7 @@ import lombok.*;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Inventory {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,6 +25,39 @@ public class Inventory {
     private User owner; // farmer or retailer who owns this stock
 
     @Column(name = "stage")
-    private String stage; // harvested, at_distributor, at_retailer, etc.
+    private Stage stage; // stored as its lowercase code, see InventoryStageConverter
+
+    @Version
+    @Column(name = "version")
+    private Long version; // guards read-modify-write updates; stock reservations bump it too
+
+    public enum Stage {
+        PLANTED("planted"),
+        HARVESTED("harvested"),
+        IN_TRANSIT("in_transit"),
+        AT_DISTRIBUTOR("at_distributor"),
+        AT_RETAILER("at_retailer"),
+        AVAILABLE_FOR_SALE("available_for_sale"),
+        SOLD("sold");
+
+        private final String code;
+
+        Stage(String code) {
+            this.code = code;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public static Stage fromCode(String code) {
+            for (Stage stage : values()) {
+                if (stage.code.equalsIgnoreCase(code) || stage.name().equalsIgnoreCase(code)) {
+                    return stage;
+                }
+            }
+            throw new RuntimeException("Unknown inventory stage: " + code);
+        }
+    }
 }
 
@@ -0,0 +1,24 @@
+package com.infosys.farmtofork.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Last journal sequence whose deltas have been written to the inventory table.
+ * Saved in the same transaction as the deltas, so replay after a crash never applies one twice.
+ */
+@Entity
+@Table(name = "inventory_ledger_checkpoint")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryLedgerCheckpoint {
+    public static final Long SINGLETON_ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+}
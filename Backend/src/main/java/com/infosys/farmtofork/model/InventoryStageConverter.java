@@ -0,0 +1,21 @@
+package com.infosys.farmtofork.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * Keeps the lowercase codes ("harvested", "at_retailer", ...) the column and the frontend already use.
+ */
+@Converter(autoApply = true)
+public class InventoryStageConverter implements AttributeConverter<Inventory.Stage, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Inventory.Stage stage) {
+        return stage != null ? stage.getCode() : null;
+    }
+
+    @Override
+    public Inventory.Stage convertToEntityAttribute(String code) {
+        return code != null ? Inventory.Stage.fromCode(code) : null;
+    }
+}
@@ -12,10 +12,12 @@ import java.util.*;
 @Builder
 public class Order {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // pooled sequence (table-backed on MySQL) so inserts can be JDBC-batched, unlike IDENTITY
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orderIdGenerator")
+    @SequenceGenerator(name = "orderIdGenerator", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "customer_id", referencedColumnName = "id")
     private User customer;
 
@@ -25,7 +27,7 @@ public class Order {
 
     private Date createdAt;
 
-    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, fetch = FetchType.EAGER)
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL)
     @Builder.Default
     private List<OrderItem> items = new ArrayList<>();
 }
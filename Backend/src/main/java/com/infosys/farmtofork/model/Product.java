@@ -2,10 +2,24 @@ package com.infosys.farmtofork.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
+import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "products")
+@Table(name = "products", indexes = {
+        // keyset catalog paging: equality filters followed by the id seek column
+        @Index(name = "idx_products_crop_type_id", columnList = "crop_type, id"),
+        @Index(name = "idx_products_status_id", columnList = "status, id"),
+        @Index(name = "idx_products_crop_type_status_id", columnList = "crop_type, status, id"),
+        // range filters: the id travels with each entry, so the seek past the cursor is checked in the index
+        @Index(name = "idx_products_ai_score_id", columnList = "ai_score, id"),
+        @Index(name = "idx_products_harvest_date_id", columnList = "harvest_date, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "product", includeLazy = false)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,10 +47,22 @@ public class Product {
     @Column(name = "location")
     private String location; // Location
 
+    @Column(name = "latitude")
+    private Double latitude; // WGS84 degrees, optional
+
+    @Column(name = "longitude")
+    private Double longitude;
+
     @Lob
     @Basic(fetch = FetchType.LAZY)
     @Column(name = "image_url", columnDefinition = "LONGTEXT")
-    private String imageUrl; // Base64 or external URL
+    private String imageUrl; // External URL or /api/products/{id}/image for stored blobs; lazy, never in the L2 cache
+
+    @Column(name = "image_ref", length = 64)
+    private String imageRef; // SHA-256 of the blob in ImageBlobStore
+
+    @Column(name = "image_content_type", length = 100)
+    private String imageContentType;
 
     // Legacy fields retained for database compatibility
     @Column(name = "category")
@@ -68,4 +94,8 @@ public class Product {
     @Column(name = "status")
     @Builder.Default
     private Status status = Status.PENDING;
+
+    @UpdateTimestamp
+    @Column(name = "updated_at")
+    private Instant updatedAt; // Last-Modified of GET /api/products/{id}
 }
@@ -0,0 +1,60 @@
+package com.infosys.farmtofork.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+
+/**
+ * Running inventory quantity per stage, overall and broken down by crop type and by owner.
+ * Maintained incrementally in the transactions that move stock, so reads are primary-key lookups.
+ */
+@Entity
+@Table(name = "stage_aggregates")
+@IdClass(StageAggregate.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StageAggregate {
+    public static final String ALL = "*";
+
+    public enum Dimension {
+        ALL,
+        CROP_TYPE,
+        OWNER
+    }
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "dimension", length = 16)
+    private Dimension dimension;
+
+    @Id
+    @Column(name = "dimension_key", length = 100)
+    private String dimensionKey; // ALL, the crop type, or the owner id
+
+    @Id
+    @Column(name = "stage", length = 32)
+    private String stage; // Inventory.Stage code; converters do not apply to id attributes
+
+    @Column(name = "quantity", nullable = false)
+    private Long quantity;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable, Comparable<Key> {
+        private Dimension dimension;
+        private String dimensionKey;
+        private String stage;
+
+        @Override
+        public int compareTo(Key other) {
+            int c = dimension.compareTo(other.dimension);
+            if (c == 0) {
+                c = dimensionKey.compareTo(other.dimensionKey);
+            }
+            return c != 0 ? c : stage.compareTo(other.stage);
+        }
+    }
+}
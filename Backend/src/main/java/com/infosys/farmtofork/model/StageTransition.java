@@ -0,0 +1,44 @@
+package com.infosys.farmtofork.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * Append-only record of an inventory row entering a stage. Rows are never updated or deleted,
+ * and keep plain ids so the history outlives the inventory row itself.
+ */
+@Entity
+@Table(name = "stage_transitions", indexes = {
+        @Index(name = "idx_stage_transitions_inventory_id", columnList = "inventory_id, id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StageTransition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "inventory_id", nullable = false)
+    private Long inventoryId;
+
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "from_stage")
+    private Inventory.Stage fromStage; // null when the row was created
+
+    @Column(name = "to_stage", nullable = false)
+    private Inventory.Stage toStage;
+
+    @Column(name = "quantity")
+    private Long quantity; // quantity that moved with the row
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
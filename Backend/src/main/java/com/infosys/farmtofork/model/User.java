@@ -1,10 +1,15 @@
 package com.infosys.farmtofork.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
 @Table(name = "users")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -19,7 +24,12 @@ public class User {
     @Column(unique = true)
     private String email;
 
-    private String password;
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private String password; // BCrypt hash
 
     private String role; // ADMIN, FARMER, RETAILER, CONSUMER
+
+    private Double latitude; // farm or warehouse position, optional
+
+    private Double longitude;
 }
@@ -0,0 +1,30 @@
+package com.infosys.farmtofork.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.infosys.farmtofork.dto.StatTotal;
+import com.infosys.farmtofork.model.DashboardStat;
+import java.util.List;
+
+@Repository
+public interface DashboardStatRepository extends JpaRepository<DashboardStat, DashboardStat.Key> {
+
+    @Query("select new com.infosys.farmtofork.dto.StatTotal(s.metric, s.metricKey, sum(s.count), sum(s.total)) "
+            + "from DashboardStat s group by s.metric, s.metricKey")
+    List<StatTotal> findTotals();
+
+    // without declared query spaces Hibernate would clear every second-level cache region
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "dashboard_stats"))
+    @Query(value = "insert into dashboard_stats (metric, metric_key, slot, item_count, total) "
+            + "values (:metric, :metricKey, :slot, :count, :total) "
+            + "on duplicate key update item_count = item_count + :count, total = total + :total", nativeQuery = true)
+    int add(@Param("metric") String metric, @Param("metricKey") String metricKey, @Param("slot") int slot,
+            @Param("count") long count, @Param("total") double total);
+}
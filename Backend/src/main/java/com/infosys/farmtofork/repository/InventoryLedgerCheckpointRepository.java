@@ -0,0 +1,9 @@
+package com.infosys.farmtofork.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import com.infosys.farmtofork.model.InventoryLedgerCheckpoint;
+
+@Repository
+public interface InventoryLedgerCheckpointRepository extends JpaRepository<InventoryLedgerCheckpoint, Long> {
+}
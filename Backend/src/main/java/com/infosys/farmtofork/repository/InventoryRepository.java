@@ -1,11 +1,56 @@
 package com.infosys.farmtofork.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.infosys.farmtofork.dto.StockLevel;
 import com.infosys.farmtofork.model.Inventory;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface InventoryRepository extends JpaRepository<Inventory, Long> {
     List<Inventory> findByOwnerId(Long ownerId);
+
+    @Query("select distinct i.owner.id from Inventory i where i.product.id in :productIds and i.owner is not null")
+    List<Long> findOwnerIdsByProductIds(@Param("productIds") Collection<Long> productIds);
+
+    // ordered by product then row id: reservations lock rows in this order to avoid deadlocks
+    @Query("select new com.infosys.farmtofork.dto.StockLevel(i.id, p.id, i.quantity, i.version, i.stage, p.cropType, o.id) "
+            + "from Inventory i join i.product p left join i.owner o where p.id in :productIds "
+            + "order by p.id, i.id")
+    List<StockLevel> findStockLevels(@Param("productIds") Collection<Long> productIds);
+
+    @Query("select new com.infosys.farmtofork.dto.StockLevel(i.id, p.id, i.quantity, i.version, i.stage, p.cropType, o.id) "
+            + "from Inventory i left join i.product p left join i.owner o where i.id in :ids")
+    List<StockLevel> findStockLevelsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("select new com.infosys.farmtofork.dto.StockLevel(i.id, p.id, i.quantity, i.version, i.stage, p.cropType, o.id) "
+            + "from Inventory i left join i.product p left join i.owner o")
+    List<StockLevel> findAllStockLevels();
+
+    // misses if the row changed at all since it was read, so the caller's view of its stage and owner is current
+    @Modifying
+    @Query("update Inventory i set i.quantity = i.quantity - :amount, i.version = i.version + 1 "
+            + "where i.id = :id and i.version = :version and i.quantity >= :amount")
+    int decrementIfUnchanged(@Param("id") Long id, @Param("version") Long version, @Param("amount") long amount);
+
+    @Modifying
+    @Query("update Inventory i set i.quantity = i.quantity + :delta, i.version = i.version + 1 where i.id = :id")
+    int applyDelta(@Param("id") Long id, @Param("delta") long delta);
+
+    // locking read returns the latest committed row even under REPEATABLE READ
+    @Query(value = "select quantity as quantity, version as version, stage as stage, product_id as productId, "
+            + "owner_id as ownerId from inventory where id = :id for update", nativeQuery = true)
+    LockedRow lockRow(@Param("id") Long id);
+
+    interface LockedRow {
+        Long getQuantity();
+        Long getVersion();
+        String getStage();
+        Long getProductId();
+        Long getOwnerId();
+    }
 }
@@ -1,9 +1,19 @@
 package com.infosys.farmtofork.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.infosys.farmtofork.dto.OrderItemRow;
 import com.infosys.farmtofork.model.OrderItem;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Long> {
+
+    // Only the product columns the response needs, never the product entity itself
+    @Query("select new com.infosys.farmtofork.dto.OrderItemRow(i.order.id, i.id, p.id, p.name, i.quantity, i.price) "
+            + "from OrderItem i join i.product p where i.order.id in :orderIds order by i.id")
+    List<OrderItemRow> findRowsByOrderIds(@Param("orderIds") Collection<Long> orderIds);
 }
@@ -1,11 +1,46 @@
 package com.infosys.farmtofork.repository;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import com.infosys.farmtofork.model.Order;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    List<Order> findByCustomerId(Long customerId);
+    // Associations are lazy; list queries fetch the customer in the same select and
+    // leave items to OrderItemRepository.findRowsByOrderIds
+    @Query("select o from Order o join fetch o.customer order by o.id")
+    List<Order> findAllWithCustomer();
+
+    @Query("select o from Order o join fetch o.customer where o.customer.id = :customerId order by o.id")
+    List<Order> findByCustomerIdWithCustomer(@Param("customerId") Long customerId);
+
+    // Keyset pages: pass a Pageable of limit + 1 rows starting at page 0
+    @Query("select o from Order o join fetch o.customer where o.id > :after order by o.id")
+    List<Order> findPageWithCustomer(@Param("after") long after, Pageable pageable);
+
+    @Query("select o from Order o join fetch o.customer "
+            + "where o.customer.id = :customerId and o.id > :after order by o.id")
+    List<Order> findCustomerPageWithCustomer(@Param("customerId") Long customerId, @Param("after") long after,
+                                             Pageable pageable);
+
+    // Must be consumed inside a transaction and closed; rows arrive in fetch-size chunks
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select o from Order o join fetch o.customer order by o.id")
+    Stream<Order> streamAllWithCustomer();
+
+    @EntityGraph(attributePaths = {"customer", "items", "items.product"})
+    Optional<Order> findWithItemsById(Long id);
 }
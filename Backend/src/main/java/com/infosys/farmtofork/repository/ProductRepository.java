@@ -1,11 +1,34 @@
 package com.infosys.farmtofork.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import com.infosys.farmtofork.dto.ProductLocation;
 import com.infosys.farmtofork.model.Product;
+import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductRepositoryCustom {
     List<Product> findByCropType(String cropType);
+
+    @Query("select p.id from Product p where p.imageUrl like 'data:%'")
+    List<Long> findIdsWithInlineImages();
+
+    @Query("select p.updatedAt from Product p where p.id = :id")
+    Optional<Instant> findUpdatedAtById(@Param("id") Long id);
+
+    @Query("select p.cropType from Product p where p.id = :id")
+    String findCropTypeById(@Param("id") Long id);
+
+    @Query("select new com.infosys.farmtofork.dto.ProductLocation(p.id, p.latitude, p.longitude, p.cropType) "
+            + "from Product p where p.latitude is not null and p.longitude is not null and p.id > :afterId order by p.id")
+    List<ProductLocation> findLocationsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("select p.id from Product p where p.aiScore is null and p.aiVerdict is null "
+            + "and p.imageRef is not null order by p.id")
+    List<Long> findIdsAwaitingScore(Pageable pageable);
 }
@@ -0,0 +1,30 @@
+package com.infosys.farmtofork.repository;
+
+import com.infosys.farmtofork.dto.ProductFilter;
+import com.infosys.farmtofork.dto.ProductSummary;
+import com.infosys.farmtofork.model.Product;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface ProductRepositoryCustom {
+    /**
+     * Seek-paginated catalog query: rows with id greater than {@code afterId}, ordered by id.
+     */
+    List<ProductSummary> findSummaries(ProductFilter filter, Long afterId, int limit);
+
+    Optional<ProductSummary> findSummaryById(Long id);
+
+    List<ProductSummary> findSummariesByIds(Collection<Long> ids);
+
+    /**
+     * Loads products by id, taking cached ones from the second-level cache; missing ids are skipped.
+     */
+    List<Product> loadAll(Collection<Long> ids);
+
+    /**
+     * Targeted write-back so a background scorer never overwrites concurrent edits to other columns.
+     * Only the first score lands, so stats count each product once. Returns the updated row count.
+     */
+    int updateAiScore(Long id, Double score, String verdict);
+}
@@ -0,0 +1,161 @@
+package com.infosys.farmtofork.repository;
+
+import com.infosys.farmtofork.config.HibernateCacheConfig;
+import com.infosys.farmtofork.dto.ProductFilter;
+import com.infosys.farmtofork.dto.ProductSummary;
+import com.infosys.farmtofork.model.Product;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.hibernate.cache.spi.access.EntityDataAccess;
+import org.hibernate.cache.spi.access.SoftLock;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+class ProductRepositoryImpl implements ProductRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<ProductSummary> findSummaries(ProductFilter filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummary> query = cb.createQuery(ProductSummary.class);
+        Root<Product> p = query.from(Product.class);
+
+        selectSummary(cb, query, p);
+
+        // only add predicates that are set so each combination maps onto a matching index
+        List<Predicate> where = new ArrayList<>();
+        if (afterId != null) {
+            where.add(cb.greaterThan(p.get("id"), afterId));
+        }
+        if (filter.getCropType() != null) {
+            where.add(cb.equal(p.get("cropType"), filter.getCropType()));
+        }
+        if (filter.getStatus() != null) {
+            where.add(cb.equal(p.get("status"), filter.getStatus()));
+        }
+        if (filter.getMinAiScore() != null) {
+            where.add(cb.greaterThanOrEqualTo(p.get("aiScore"), filter.getMinAiScore()));
+        }
+        if (filter.getHarvestedAfter() != null) {
+            where.add(cb.greaterThan(p.get("harvestDate"), filter.getHarvestedAfter()));
+        }
+
+        query.where(where.toArray(new Predicate[0]));
+        query.orderBy(cb.asc(p.get("id")));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, HibernateCacheConfig.CATALOG_QUERY_REGION)
+                .getResultList();
+    }
+
+    @Override
+    public Optional<ProductSummary> findSummaryById(Long id) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummary> query = cb.createQuery(ProductSummary.class);
+        Root<Product> p = query.from(Product.class);
+        selectSummary(cb, query, p);
+        query.where(cb.equal(p.get("id"), id));
+        return entityManager.createQuery(query).getResultStream().findFirst();
+    }
+
+    @Override
+    public List<ProductSummary> findSummariesByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductSummary> query = cb.createQuery(ProductSummary.class);
+        Root<Product> p = query.from(Product.class);
+        selectSummary(cb, query, p);
+        query.where(p.get("id").in(ids));
+        return entityManager.createQuery(query).getResultList();
+    }
+
+    @Override
+    public List<Product> loadAll(Collection<Long> ids) {
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Product.class)
+                .multiLoad(new ArrayList<>(ids))
+                .stream()
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public int updateAiScore(Long id, Double score, String verdict) {
+        // plain JDBC on the session's connection: a bulk HQL update would clear the whole product
+        // cache region, so invalidate just this row and the cached product queries
+        int updated = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "update products set ai_score = ?, ai_verdict = ?, updated_at = ? where id = ? and ai_score is null")) {
+                ps.setObject(1, score, Types.DOUBLE);
+                ps.setString(2, verdict);
+                ps.setTimestamp(3, Timestamp.from(Instant.now()));
+                ps.setLong(4, id);
+                return ps.executeUpdate();
+            }
+        });
+        if (updated > 0) {
+            invalidateProduct(id);
+        }
+        return updated;
+    }
+
+    /**
+     * What Hibernate does for its own updates: soft-lock the row's cache entry until the transaction
+     * completes, so a reader that loaded the old row before the commit cannot put it back afterwards,
+     * and mark cached product queries stale once the row is visible.
+     */
+    private void invalidateProduct(Long id) {
+        SharedSessionContractImplementor session = entityManager.unwrap(SharedSessionContractImplementor.class);
+        SessionFactoryImplementor factory = session.getFactory();
+        EntityPersister persister = factory.getRuntimeMetamodels().getMappingMetamodel().getEntityDescriptor(Product.class);
+        EntityDataAccess access = persister.getCacheAccessStrategy();
+        Object key = access.generateCacheKey(id, persister, factory, null);
+        SoftLock lock = access.lockItem(session, key, null);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                access.unlockItem(session, key, lock);
+                factory.getCache().getTimestampsCache().invalidate(persister.getSynchronizedQuerySpaces(), session);
+            }
+        });
+    }
+
+    // only scalar columns; legacy inline data URLs are masked in SQL so they are never shipped
+    private static void selectSummary(CriteriaBuilder cb, CriteriaQuery<ProductSummary> query, Root<Product> p) {
+        query.select(cb.construct(ProductSummary.class,
+                p.get("id"), p.get("name"), p.get("cropType"), p.get("quantityKg"),
+                p.get("qualityGrade"), p.get("harvestDate"), p.get("location"),
+                cb.<String>selectCase()
+                        .when(cb.like(p.get("imageUrl"), "data:%"), cb.nullLiteral(String.class))
+                        .otherwise(p.<String>get("imageUrl")),
+                p.get("category"), p.get("description"), p.get("price"), p.get("unit"),
+                p.get("aiScore"), p.get("aiVerdict"), p.get("status"),
+                p.get("latitude"), p.get("longitude")));
+    }
+}
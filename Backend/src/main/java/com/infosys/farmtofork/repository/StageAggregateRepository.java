@@ -0,0 +1,27 @@
+package com.infosys.farmtofork.repository;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import com.infosys.farmtofork.model.StageAggregate;
+import java.util.List;
+
+@Repository
+public interface StageAggregateRepository extends JpaRepository<StageAggregate, StageAggregate.Key> {
+    List<StageAggregate> findByDimensionAndDimensionKey(StageAggregate.Dimension dimension, String dimensionKey);
+
+    // single-statement upsert: concurrent writers add to the row instead of racing on insert
+    // without declared query spaces Hibernate would clear every second-level cache region
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stage_aggregates"))
+    @Query(value = "insert into stage_aggregates (dimension, dimension_key, stage, quantity) "
+            + "values (:dimension, :dimensionKey, :stage, :delta) "
+            + "on duplicate key update quantity = quantity + :delta", nativeQuery = true)
+    int addQuantity(@Param("dimension") String dimension, @Param("dimensionKey") String dimensionKey,
+                    @Param("stage") String stage, @Param("delta") long delta);
+}
@@ -0,0 +1,11 @@
+package com.infosys.farmtofork.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import com.infosys.farmtofork.model.StageTransition;
+import java.util.List;
+
+@Repository
+public interface StageTransitionRepository extends JpaRepository<StageTransition, Long> {
+    List<StageTransition> findByInventoryIdOrderByIdAsc(Long inventoryId);
+}
@@ -1,10 +1,25 @@
 package com.infosys.farmtofork.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import com.infosys.farmtofork.model.*;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    // query cache keeps email -> id; the row itself comes from the user region
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     User findByEmail(String email);
+
+    // only replaces the hash it was computed from, so a password changed meanwhile is kept
+    @Transactional
+    @Modifying
+    @Query("update User u set u.password = :hash where u.id = :id and u.password = :previous")
+    int updatePasswordIfUnchanged(@Param("id") Long id, @Param("previous") String previous, @Param("hash") String hash);
 }
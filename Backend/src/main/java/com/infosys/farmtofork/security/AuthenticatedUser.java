@@ -0,0 +1,18 @@
+package com.infosys.farmtofork.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The caller behind a verified token, built from its claims alone.
+ */
+public record AuthenticatedUser(Long id, String email, String role, String tokenId, Instant expiresAt) {
+
+    public List<GrantedAuthority> authorities() {
+        return role == null ? List.of() : List.of(new SimpleGrantedAuthority("ROLE_" + role.toUpperCase(Locale.ROOT)));
+    }
+}
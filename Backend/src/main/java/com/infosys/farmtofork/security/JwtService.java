@@ -0,0 +1,82 @@
+package com.infosys.farmtofork.security;
+
+import com.infosys.farmtofork.model.User;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Issues and verifies HS256 access tokens. Everything a request needs about its caller travels in
+ * the claims, so verification never touches the database.
+ */
+@Service
+public class JwtService {
+    private static final String EMAIL_CLAIM = "email";
+    private static final String ROLE_CLAIM = "role";
+
+    private final SecretKey key;
+    private final JwtParser parser;
+    private final long expirationMs;
+
+    public JwtService(@Value("${app.jwtSecret}") String secret,
+                      @Value("${app.jwtExpirationMs}") long expirationMs) {
+        // HS256 needs a 256-bit key; hashing lets any configured passphrase be used
+        this.key = Keys.hmacShaKeyFor(sha256(secret));
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.expirationMs = expirationMs;
+    }
+
+    public String issue(User user) {
+        long now = System.currentTimeMillis();
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(String.valueOf(user.getId()))
+                .claim(EMAIL_CLAIM, user.getEmail())
+                .claim(ROLE_CLAIM, user.getRole())
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMs))
+                .signWith(key, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * @throws JwtException if the token is malformed, badly signed or expired
+     */
+    public AuthenticatedUser verify(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getId() == null || claims.getSubject() == null || claims.getExpiration() == null) {
+            throw new JwtException("Token is missing required claims");
+        }
+        Long userId;
+        try {
+            userId = Long.valueOf(claims.getSubject());
+        } catch (NumberFormatException e) {
+            throw new JwtException("Token subject is not a user id");
+        }
+        return new AuthenticatedUser(userId,
+                claims.get(EMAIL_CLAIM, String.class),
+                claims.get(ROLE_CLAIM, String.class),
+                claims.getId(),
+                claims.getExpiration().toInstant());
+    }
+
+    private static byte[] sha256(String secret) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(secret.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
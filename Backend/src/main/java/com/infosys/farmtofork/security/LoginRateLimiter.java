@@ -0,0 +1,91 @@
+package com.infosys.farmtofork.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Login attempt budgets per client address and per account email. Buckets live in bounded maps and
+ * expire once idle long enough to have refilled completely, so dropping one never gives an
+ * attacker more than a fresh bucket would.
+ */
+@Component
+public class LoginRateLimiter {
+    private final Cache<String, TokenBucket> addressBuckets;
+    private final Cache<String, TokenBucket> emailBuckets;
+    private final int addressCapacity;
+    private final long addressInterval;
+    private final int emailCapacity;
+    private final long emailInterval;
+    private final Counter addressThrottled;
+    private final Counter emailThrottled;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${app.security.login-rate.address.capacity:20}") int addressCapacity,
+                            @Value("${app.security.login-rate.address.refill-per-minute:20}") int addressPerMinute,
+                            @Value("${app.security.login-rate.email.capacity:5}") int emailCapacity,
+                            @Value("${app.security.login-rate.email.refill-per-minute:5}") int emailPerMinute,
+                            @Value("${app.security.login-rate.max-entries:100000}") long maxEntries) {
+        this.addressCapacity = addressCapacity;
+        this.addressInterval = TimeUnit.MINUTES.toNanos(1) / addressPerMinute;
+        this.emailCapacity = emailCapacity;
+        this.emailInterval = TimeUnit.MINUTES.toNanos(1) / emailPerMinute;
+        this.addressBuckets = buckets(maxEntries, addressCapacity * addressInterval);
+        this.emailBuckets = buckets(maxEntries, emailCapacity * emailInterval);
+        CaffeineCacheMetrics.monitor(meterRegistry, addressBuckets, "loginRateByAddress");
+        CaffeineCacheMetrics.monitor(meterRegistry, emailBuckets, "loginRateByEmail");
+        this.addressThrottled = Counter.builder("auth.login.throttled").tag("key", "address").register(meterRegistry);
+        this.emailThrottled = Counter.builder("auth.login.throttled").tag("key", "email").register(meterRegistry);
+    }
+
+    /**
+     * Spends one attempt from the address bucket and, when the email is known, from its bucket.
+     * Both are checked first, so an attempt refused by one bucket costs nothing from the other:
+     * hammering one account cannot use up the budget of everyone behind the same address.
+     *
+     * @return 0 if the attempt may go ahead, otherwise nanoseconds until it would be allowed
+     */
+    public long tryAcquire(String address, String email) {
+        long now = System.nanoTime();
+        TokenBucket byAddress = addressBuckets.get(address, k -> new TokenBucket(addressCapacity, addressInterval));
+        TokenBucket byEmail = email == null || email.isBlank() ? null
+                : emailBuckets.get(email.trim().toLowerCase(Locale.ROOT), k -> new TokenBucket(emailCapacity, emailInterval));
+
+        long wait = byAddress.waitNanos(now);
+        if (wait > 0) {
+            addressThrottled.increment();
+            return wait;
+        }
+        if (byEmail != null && (wait = byEmail.waitNanos(now)) > 0) {
+            emailThrottled.increment();
+            return wait;
+        }
+
+        // a concurrent attempt may have taken the last token since the check
+        if ((wait = byAddress.tryTake(now)) > 0) {
+            addressThrottled.increment();
+            return wait;
+        }
+        if (byEmail != null && (wait = byEmail.tryTake(now)) > 0) {
+            byAddress.refund(now);
+            emailThrottled.increment();
+        }
+        return wait;
+    }
+
+    private static Cache<String, TokenBucket> buckets(long maxEntries, long refillNanos) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(Duration.ofNanos(refillNanos))
+                .recordStats()
+                .build();
+    }
+}
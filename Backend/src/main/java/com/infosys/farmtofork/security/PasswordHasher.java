@@ -0,0 +1,120 @@
+package com.infosys.farmtofork.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * BCrypt hashing on its own small pool, so a burst of logins queues here instead of holding
+ * request threads. When both the pool and its queue are full the caller is rejected straight away.
+ * The cost is either fixed by {@code app.security.password.bcrypt-strength} or, when that is 0,
+ * raised at startup for as long as one hash stays under {@code target-ms} on this machine.
+ */
+@Component
+public class PasswordHasher {
+    private static final Logger log = LoggerFactory.getLogger(PasswordHasher.class);
+    private static final int MIN_STRENGTH = 10;
+    private static final int MAX_STRENGTH = 16;
+
+    private final BCryptPasswordEncoder encoder;
+    private final int strength;
+    private final ThreadPoolExecutor executor;
+
+    public PasswordHasher(MeterRegistry meterRegistry,
+                          @Value("${app.security.password.bcrypt-strength:0}") int configuredStrength,
+                          @Value("${app.security.password.target-ms:100}") long targetMs,
+                          @Value("${app.security.password.threads:0}") int threads,
+                          @Value("${app.security.password.queue-capacity:64}") int queueCapacity) {
+        this.strength = configuredStrength > 0 ? configuredStrength : calibrate(targetMs);
+        this.encoder = new BCryptPasswordEncoder(strength);
+
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "password-hasher-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordHasher");
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    public CompletableFuture<String> hash(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Checks a password against a stored BCrypt hash, or against a plaintext value left from
+     * before passwords were hashed.
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String stored) {
+        if (rawPassword == null || stored == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (!isHash(stored)) {
+            return CompletableFuture.completedFuture(MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8)));
+        }
+        return submit(() -> encoder.matches(rawPassword, stored));
+    }
+
+    // plaintext, or hashed at a lower cost than the current one
+    public boolean needsRehash(String stored) {
+        return !isHash(stored) || encoder.upgradeEncoding(stored);
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static boolean isHash(String stored) {
+        return stored.startsWith("$2a$") || stored.startsWith("$2b$") || stored.startsWith("$2y$");
+    }
+
+    // each step doubles the work, so stop at the first cost over target
+    private static int calibrate(long targetMs) {
+        new BCryptPasswordEncoder(MIN_STRENGTH).encode("warm-up");
+        int chosen = MIN_STRENGTH;
+        for (int s = MIN_STRENGTH; s <= MAX_STRENGTH; s++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(s).encode("calibration");
+            long ms = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            log.debug("bcrypt cost {}: {} ms per hash", s, ms);
+            if (ms > targetMs) {
+                break;
+            }
+            chosen = s;
+        }
+        log.info("Password hashing cost set to {} (target {} ms)", chosen, targetMs);
+        return chosen;
+    }
+}
@@ -1,11 +1,18 @@
 package com.infosys.farmtofork.security;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import java.util.Arrays;
 
@@ -27,12 +34,21 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, TokenAuthenticator tokenAuthenticator,
+                                           LoginRateLimiter loginRateLimiter, ObjectMapper objectMapper) throws Exception {
         http
             .cors().and()
             .csrf().disable()
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+            // after CORS so a throttled browser still sees the 429
+            .addFilterAfter(new LoginRateLimitFilter(loginRateLimiter, objectMapper), CorsFilter.class)
+            .addFilterBefore(new JwtAuthenticationFilter(tokenAuthenticator), UsernamePasswordAuthenticationFilter.class)
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/auth/**", "/api/users/register", "/api/products/**", "/v3/api-docs/**", "/swagger-ui/**").permitAll()
+                // full rebuilds scan whole tables: operators only
+                .requestMatchers(HttpMethod.POST, "/api/products/search/reindex", "/api/stats/rebuild").hasRole("ADMIN")
+                .requestMatchers("/api/auth/**", "/api/users/register", "/api/users/login", "/api/products/**", "/v3/api-docs/**", "/swagger-ui/**").permitAll()
+                .requestMatchers("/api/users/logout").authenticated()
                 .anyRequest().permitAll()
             );
         return http.build();
@@ -0,0 +1,61 @@
+package com.infosys.farmtofork.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Resolves a bearer token to its caller. Verified principals are cached by token, so a client
+ * reusing its token skips the signature check; expiry and revocation are still checked on every
+ * request.
+ */
+@Component
+public class TokenAuthenticator {
+    private final JwtService jwtService;
+    private final TokenDenyList denyList;
+    private final Cache<String, AuthenticatedUser> principals;
+
+    public TokenAuthenticator(JwtService jwtService,
+                              TokenDenyList denyList,
+                              MeterRegistry meterRegistry,
+                              @Value("${app.security.principal-cache.max-entries:10000}") long maxEntries,
+                              @Value("${app.security.principal-cache.ttl:10m}") Duration ttl) {
+        this.jwtService = jwtService;
+        this.denyList = denyList;
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, principals, "authPrincipals");
+        Gauge.builder("auth.tokens.revoked", denyList, TokenDenyList::size).register(meterRegistry);
+    }
+
+    /**
+     * @throws JwtException if the token is invalid, expired or revoked
+     */
+    public AuthenticatedUser authenticate(String token) {
+        AuthenticatedUser user = principals.get(token, jwtService::verify);
+        if (!user.expiresAt().isAfter(Instant.now())) {
+            principals.invalidate(token);
+            throw new JwtException("Token has expired");
+        }
+        if (denyList.isRevoked(user.tokenId())) {
+            principals.invalidate(token);
+            throw new JwtException("Token has been revoked");
+        }
+        return user;
+    }
+
+    public void revoke(AuthenticatedUser user) {
+        denyList.revoke(user.tokenId(), user.expiresAt());
+    }
+}
@@ -0,0 +1,53 @@
+package com.infosys.farmtofork.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single timestamp (the generic cell rate algorithm): the time at which
+ * the bucket would be full again. Taking a token is one compare-and-set, no locks.
+ */
+final class TokenBucket {
+    private final long intervalNanos;   // time to earn back one token
+    private final long burstNanos;      // how far ahead of now the full-time may run
+    private final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+
+    TokenBucket(int capacity, long intervalNanos) {
+        this.intervalNanos = intervalNanos;
+        this.burstNanos = capacity * intervalNanos;
+    }
+
+    /**
+     * Takes a token if one is available.
+     *
+     * @return 0 when a token was taken, otherwise nanoseconds until the next one is earned
+     */
+    long tryTake(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > burstNanos) {
+                return ahead - burstNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // what tryTake would return, without taking anything
+    long waitNanos(long nowNanos) {
+        long ahead = Math.max(fullAt.get(), nowNanos) + intervalNanos - nowNanos;
+        return Math.max(0, ahead - burstNanos);
+    }
+
+    // gives back a token taken for an attempt that was then refused elsewhere
+    void refund(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            if (current <= nowNanos || fullAt.compareAndSet(current, Math.max(nowNanos, current - intervalNanos))) {
+                return;
+            }
+        }
+    }
+}
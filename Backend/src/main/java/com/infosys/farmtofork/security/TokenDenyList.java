@@ -0,0 +1,37 @@
+package com.infosys.farmtofork.security;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ids of tokens revoked before their expiry. An entry is only needed until the token would have
+ * expired anyway, so the list never holds more than one token lifetime's worth of logouts.
+ */
+@Component
+public class TokenDenyList {
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+
+    public void revoke(String tokenId, Instant expiresAt) {
+        if (expiresAt.isAfter(Instant.now())) {
+            revoked.put(tokenId, expiresAt.toEpochMilli());
+        }
+    }
+
+    public boolean isRevoked(String tokenId) {
+        return revoked.containsKey(tokenId);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.deny-list-purge-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+}
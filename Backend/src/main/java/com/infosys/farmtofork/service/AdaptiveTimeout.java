@@ -0,0 +1,70 @@
+package com.infosys.farmtofork.service;
+
+import java.util.Arrays;
+
+/**
+ * Derives a response timeout from the recent per-image latency percentile of completed calls,
+ * so a healthy scorer gets tight timeouts and a slow one is cut off early. Calls that time out are
+ * recorded at the timeout they were given, so a slowing scorer pushes the timeout up instead of
+ * leaving only fast successes in the window.
+ */
+class AdaptiveTimeout {
+
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final long[] samples;
+    private final double percentile;
+    private final double multiplier;
+    private final long minMillis;
+    private final long maxMillis;
+    private final int minSamples;
+
+    private int next;
+    private int size;
+    private int sinceRecompute;
+    private long perImageMillis = -1;
+
+    AdaptiveTimeout(int sampleSize, double percentile, double multiplier, long minMillis, long maxMillis, int minSamples) {
+        this.samples = new long[sampleSize];
+        this.percentile = percentile;
+        this.multiplier = multiplier;
+        this.minMillis = minMillis;
+        this.maxMillis = maxMillis;
+        this.minSamples = minSamples;
+    }
+
+    synchronized void record(long elapsedMillis, int images) {
+        samples[next] = elapsedMillis / Math.max(1, images);
+        next = (next + 1) % samples.length;
+        size = Math.min(size + 1, samples.length);
+        if (++sinceRecompute >= RECOMPUTE_EVERY || perImageMillis < 0) {
+            sinceRecompute = 0;
+            recompute();
+        }
+    }
+
+    /** A call that hit its response timeout took at least that long. */
+    void recordTimeout(long timeoutMillis, int images) {
+        record(timeoutMillis, images);
+    }
+
+    long maxMillis() {
+        return maxMillis;
+    }
+
+    synchronized long timeoutMillis(int images) {
+        if (size < minSamples) {
+            // not enough history yet: be generous
+            return maxMillis;
+        }
+        long timeout = (long) (perImageMillis * Math.max(1, images) * multiplier);
+        return Math.max(minMillis, Math.min(maxMillis, timeout));
+    }
+
+    private void recompute() {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * size) - 1;
+        perImageMillis = sorted[Math.max(0, index)];
+    }
+}
@@ -0,0 +1,132 @@
+package com.infosys.farmtofork.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.infosys.farmtofork.dto.AiScoreResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Bounded W-TinyLFU cache of AI score results keyed by the SHA-256 of the decoded image bytes.
+ * Values are futures, so concurrent lookups of an image that is already being scored share one remote call.
+ */
+@Service
+public class AiScoreCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AiScoreCache.class);
+
+    private final AsyncCache<String, AiScoreResult> cache;
+    private final Duration ttl;
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter evictions;
+
+    public AiScoreCache(ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${ai.score.cache.max-entries:10000}") long maxEntries,
+                        @Value("${ai.score.cache.ttl:24h}") Duration ttl,
+                        @Value("${ai.score.cache.file:}") String file) {
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.file = file.isBlank() ? null : Paths.get(file);
+
+        this.hits = Counter.builder("ai.score.cache.hits").register(meterRegistry);
+        this.misses = Counter.builder("ai.score.cache.misses").register(meterRegistry);
+        this.coalesced = Counter.builder("ai.score.cache.coalesced")
+            .description("Lookups that joined a scoring call already in flight")
+            .register(meterRegistry);
+        this.evictions = Counter.builder("ai.score.cache.evictions").register(meterRegistry);
+
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxEntries)
+            .expireAfterWrite(ttl)
+            .removalListener((String key, AiScoreResult value, RemovalCause cause) -> {
+                if (cause.wasEvicted()) {
+                    evictions.increment();
+                }
+            })
+            .buildAsync();
+
+        Gauge.builder("ai.score.cache.size", cache, c -> c.synchronous().estimatedSize())
+            .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached or in-flight result for {@code hash}. If there is none, {@code pending} is
+     * registered as the in-flight call and null is returned; the caller must then complete it
+     * (with null on failure, which removes the entry again).
+     */
+    public CompletableFuture<AiScoreResult> joinOrReserve(String hash, CompletableFuture<AiScoreResult> pending) {
+        CompletableFuture<AiScoreResult> existing = cache.asMap().putIfAbsent(hash, pending);
+        if (existing == null) {
+            misses.increment();
+        } else if (existing.isDone()) {
+            hits.increment();
+        } else {
+            coalesced.increment();
+        }
+        return existing;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (file == null || !Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            // entries would get a fresh TTL on load, so drop a snapshot that is already stale as a whole
+            if (Files.getLastModifiedTime(file).toInstant().plus(ttl).isBefore(Instant.now())) {
+                return;
+            }
+            Map<String, AiScoreResult> entries = objectMapper.readValue(file.toFile(),
+                new TypeReference<Map<String, AiScoreResult>>() { });
+            entries.forEach((hash, result) -> cache.put(hash, CompletableFuture.completedFuture(result)));
+            log.info("Loaded {} cached AI scores from {}", entries.size(), file);
+        } catch (IOException ex) {
+            log.warn("Unable to load AI score cache from {}: {}", file, ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void save() {
+        if (file == null) {
+            return;
+        }
+        // only completed entries; in-flight calls are simply lost
+        Map<String, AiScoreResult> entries = new HashMap<>(cache.synchronous().asMap());
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path tmp = Files.createTempFile(parent, "ai-score-cache", ".tmp");
+            objectMapper.writeValue(tmp.toFile(), entries);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            log.warn("Unable to persist AI score cache to {}: {}", file, ex.getMessage());
+        }
+    }
+}
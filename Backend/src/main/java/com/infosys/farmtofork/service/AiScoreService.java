@@ -1,56 +1,225 @@
 package com.infosys.farmtofork.service;
 
+import com.infosys.farmtofork.dto.AiBatchScoreResult;
 import com.infosys.farmtofork.dto.AiScoreResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.util.Timeout;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
-import java.time.Duration;
-import java.util.Map;
+import java.net.SocketTimeoutException;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 @Service
 public class AiScoreService {
 
     private static final Logger log = LoggerFactory.getLogger(AiScoreService.class);
 
+    // response timeout for the call running on this thread, read by the request factory
+    private static final ThreadLocal<Timeout> CALL_TIMEOUT = new ThreadLocal<>();
+
     private final RestTemplate restTemplate;
-    private final String serviceUrl;
+    private final String batchUrl;
     private final boolean enabled;
 
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final long bulkheadWaitMs;
+    private final AdaptiveTimeout adaptiveTimeout;
+
+    private final Counter shortCircuited;
+    private final Counter bulkheadRejected;
+    private final Counter failures;
+    private final MeterRegistry meterRegistry;
+
     public AiScoreService(RestTemplateBuilder restTemplateBuilder,
+                          HttpClient aiScoreHttpClient,
+                          MeterRegistry meterRegistry,
                           @Value("${ai.score.service-url:http://localhost:5001/score}") String serviceUrl,
-                          @Value("${ai.score.enabled:true}") boolean enabled) {
+                          @Value("${ai.score.enabled:true}") boolean enabled,
+                          @Value("${ai.score.breaker.window:20}") int breakerWindow,
+                          @Value("${ai.score.breaker.failure-rate:0.5}") double breakerFailureRate,
+                          @Value("${ai.score.breaker.open-ms:30000}") long breakerOpenMs,
+                          @Value("${ai.score.bulkhead.max-concurrent:4}") int maxConcurrent,
+                          @Value("${ai.score.bulkhead.max-wait-ms:100}") long bulkheadWaitMs,
+                          @Value("${ai.score.timeout.min-ms:1000}") long minTimeoutMs,
+                          @Value("${ai.score.timeout.max-ms:15000}") long maxTimeoutMs) {
+        HttpComponentsClientHttpRequestFactory requestFactory = new HttpComponentsClientHttpRequestFactory(aiScoreHttpClient);
+        // stream multipart bodies to the socket instead of buffering them in a byte array first
+        requestFactory.setBufferRequestBody(false);
+        requestFactory.setHttpContextFactory((method, uri) -> {
+            HttpClientContext context = HttpClientContext.create();
+            Timeout timeout = CALL_TIMEOUT.get();
+            if (timeout != null) {
+                context.setRequestConfig(RequestConfig.custom().setResponseTimeout(timeout).build());
+            }
+            return context;
+        });
         this.restTemplate = restTemplateBuilder
-            .setConnectTimeout(Duration.ofSeconds(5))
-            .setReadTimeout(Duration.ofSeconds(15))
+            .requestFactory(() -> requestFactory)
             .build();
-        this.serviceUrl = serviceUrl;
+        this.batchUrl = serviceUrl + "/batch";
         this.enabled = enabled;
+
+        this.circuitBreaker = new CircuitBreaker(breakerWindow, Math.max(1, breakerWindow / 2),
+            breakerFailureRate, breakerOpenMs, 1);
+        this.bulkhead = new Semaphore(maxConcurrent);
+        this.bulkheadWaitMs = bulkheadWaitMs;
+        // timeout = 3x the p99 per-image latency of recent calls, timeouts included
+        this.adaptiveTimeout = new AdaptiveTimeout(256, 0.99, 3.0, minTimeoutMs, maxTimeoutMs, 20);
+
+        Gauge.builder("ai.score.breaker.open", circuitBreaker, b -> b.getState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+            .description("1 while the scoring circuit breaker is open or half-open")
+            .register(meterRegistry);
+        this.shortCircuited = Counter.builder("ai.score.breaker.rejected").register(meterRegistry);
+        this.bulkheadRejected = Counter.builder("ai.score.bulkhead.rejected").register(meterRegistry);
+        this.failures = Counter.builder("ai.score.failures").register(meterRegistry);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
     }
 
-    public Optional<AiScoreResult> scoreImage(String imageDataUrl) {
-        if (!enabled || imageDataUrl == null || imageDataUrl.isBlank()) {
+    /** True while the circuit breaker is closed, i.e. recent calls to the scorer mostly succeed. */
+    public boolean isHealthy() {
+        return circuitBreaker.getState() == CircuitBreaker.State.CLOSED;
+    }
+
+    /**
+     * Scores several stored images in one multipart call; each part streams straight from the blob file.
+     * Empty if the call itself failed, so callers can retry later.
+     */
+    public Optional<List<AiScoreResult>> scoreBatch(List<ImageBlobStore.StoredImage> images) {
+        if (!enabled || images.isEmpty()) {
             return Optional.empty();
         }
 
-        try {
-            AiScoreResult response = restTemplate.postForObject(
-                serviceUrl,
-                Map.of("image", imageDataUrl),
-                AiScoreResult.class
-            );
-            return Optional.ofNullable(response);
-        } catch (Exception ex) {
-            log.warn("Failed to fetch AI score: {}", ex.getMessage());
+        MultiValueMap<String, Object> parts = new LinkedMultiValueMap<>();
+        long payloadBytes = 0;
+        for (ImageBlobStore.StoredImage image : images) {
+            payloadBytes += image.getSize();
+            HttpHeaders partHeaders = new HttpHeaders();
+            partHeaders.setContentType(partContentType(image.getContentType()));
+            partHeaders.setContentDispositionFormData("files", image.getHash());
+            partHeaders.setContentLength(image.getSize());
+            parts.add("files", new HttpEntity<>(new FileSystemResource(image.getPath()), partHeaders));
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.MULTIPART_FORM_DATA);
+
+        Optional<AiBatchScoreResult> response = guardedCall("batch", images.size(), payloadBytes, () -> restTemplate.postForObject(
+            batchUrl,
+            new HttpEntity<>(parts, headers),
+            AiBatchScoreResult.class
+        ));
+        if (response.isEmpty()) {
             return Optional.empty();
         }
+        if (response.get().getResults() == null || response.get().getResults().size() != images.size()) {
+            log.warn("Unexpected AI batch score response for {} images", images.size());
+            return Optional.empty();
+        }
+        return Optional.of(response.get().getResults());
     }
-}
 
+    // a malformed stored type must not fail the whole batch before it is sent
+    private static MediaType partContentType(String contentType) {
+        try {
+            return MediaType.parseMediaType(ImageBlobStore.safeContentType(contentType));
+        } catch (InvalidMediaTypeException ex) {
+            return MediaType.APPLICATION_OCTET_STREAM;
+        }
+    }
 
+    /**
+     * Runs a remote call behind the bulkhead and circuit breaker with an adaptive response timeout.
+     * Any rejection or failure falls back to empty ("unscored") without waiting on the scorer.
+     * Calls that reach the scorer are timed as ai.score.call, tagged with the call type and outcome.
+     */
+    private <T> Optional<T> guardedCall(String type, int images, long payloadBytes, Supplier<T> call) {
+        try {
+            if (!bulkhead.tryAcquire(bulkheadWaitMs, TimeUnit.MILLISECONDS)) {
+                bulkheadRejected.increment();
+                return Optional.empty();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        }
 
+        try {
+            if (!circuitBreaker.tryAcquire()) {
+                shortCircuited.increment();
+                return Optional.empty();
+            }
 
+            // a half-open probe decides whether the breaker closes: give it the full timeout
+            long timeoutMs = circuitBreaker.getState() == CircuitBreaker.State.HALF_OPEN
+                ? adaptiveTimeout.maxMillis()
+                : adaptiveTimeout.timeoutMillis(images);
+            CALL_TIMEOUT.set(Timeout.ofMilliseconds(timeoutMs));
+            DistributionSummary.builder("ai.score.payload")
+                .baseUnit("bytes")
+                .tag("type", type)
+                .register(meterRegistry)
+                .record(payloadBytes);
+            long start = System.nanoTime();
+            String outcome = "failure";
+            try {
+                T result = call.get();
+                circuitBreaker.onSuccess();
+                adaptiveTimeout.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), images);
+                outcome = "success";
+                return Optional.ofNullable(result);
+            } catch (HttpClientErrorException ex) {
+                // the scorer answered; a rejected image says nothing about its health
+                circuitBreaker.onSuccess();
+                outcome = "rejected";
+                log.warn("AI scorer rejected request: {}", ex.getMessage());
+                return Optional.empty();
+            } catch (RuntimeException ex) {
+                if (ex.getCause() instanceof SocketTimeoutException) {
+                    outcome = "timeout";
+                    adaptiveTimeout.recordTimeout(timeoutMs, images);
+                }
+                circuitBreaker.onFailure();
+                failures.increment();
+                log.warn("Failed to fetch AI score: {}", ex.getMessage());
+                return Optional.empty();
+            } finally {
+                CALL_TIMEOUT.remove();
+                Timer.builder("ai.score.call")
+                    .tags("type", type, "outcome", outcome)
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+}
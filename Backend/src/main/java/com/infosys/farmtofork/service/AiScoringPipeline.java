@@ -0,0 +1,297 @@
+package com.infosys.farmtofork.service;
+
+import com.infosys.farmtofork.dto.AiScoreResult;
+import com.infosys.farmtofork.event.ProductCreatedEvent;
+import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background AI scoring: products are queued after their create transaction commits and scored
+ * in micro-batches by a fixed pool of workers, so request threads never wait on the Python service.
+ */
+@Service
+public class AiScoringPipeline {
+
+    private static final Logger log = LoggerFactory.getLogger(AiScoringPipeline.class);
+    static final String UNSCORABLE_VERDICT = "Unscored";
+
+    private final AiScoreService aiScoreService;
+    private final AiScoreCache aiScoreCache;
+    private final ProductRepository productRepository;
+    private final ProductService productService;
+    private final ImageBlobStore imageBlobStore;
+
+    private final BlockingQueue<Long> queue;
+    // ids that are queued or being scored, so the sweeper does not enqueue them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+    // failed scoring attempts per product, so a product that keeps breaking its batch is given up on
+    private final Map<Long, Integer> failedAttempts = new ConcurrentHashMap<>();
+    private final int maxAttempts;
+    private final int workers;
+    private final int batchSize;
+    private final long batchWaitMs;
+    private final long offerTimeoutMs;
+    private ExecutorService executor;
+
+    private final Timer scoringLatency;
+    private final DistributionSummary batchSizes;
+    private final Counter rejected;
+    private final Counter failedBatches;
+
+    public AiScoringPipeline(AiScoreService aiScoreService,
+                             AiScoreCache aiScoreCache,
+                             ProductRepository productRepository,
+                             ProductService productService,
+                             ImageBlobStore imageBlobStore,
+                             MeterRegistry meterRegistry,
+                             @Value("${ai.score.queue-capacity:1000}") int queueCapacity,
+                             @Value("${ai.score.workers:2}") int workers,
+                             @Value("${ai.score.batch-size:8}") int batchSize,
+                             @Value("${ai.score.batch-wait-ms:50}") long batchWaitMs,
+                             @Value("${ai.score.offer-timeout-ms:200}") long offerTimeoutMs,
+                             @Value("${ai.score.max-attempts:5}") int maxAttempts) {
+        this.aiScoreService = aiScoreService;
+        this.aiScoreCache = aiScoreCache;
+        this.productRepository = productRepository;
+        this.productService = productService;
+        this.imageBlobStore = imageBlobStore;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.batchWaitMs = batchWaitMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.maxAttempts = maxAttempts;
+
+        Gauge.builder("ai.score.queue.depth", queue, BlockingQueue::size)
+            .description("Products waiting for AI scoring")
+            .register(meterRegistry);
+        this.scoringLatency = Timer.builder("ai.score.batch.latency")
+            .description("Round-trip time of one batch call to the scoring service")
+            .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("ai.score.batch.size")
+            .description("Images per scoring call")
+            .register(meterRegistry);
+        this.rejected = Counter.builder("ai.score.queue.rejected")
+            .description("Submissions dropped because the queue stayed full")
+            .register(meterRegistry);
+        this.failedBatches = Counter.builder("ai.score.batch.failures")
+            .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!aiScoreService.isEnabled()) {
+            return;
+        }
+        AtomicInteger counter = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(workers, r -> {
+            Thread t = new Thread(r, "ai-scorer-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        for (int i = 0; i < workers; i++) {
+            executor.submit(this::runWorker);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onProductCreated(ProductCreatedEvent event) {
+        Product product = event.getProduct();
+        if (product.getAiScore() == null && product.getImageRef() != null) {
+            submit(product.getId());
+        }
+    }
+
+    /**
+     * Queues a product for scoring, blocking the caller briefly when the queue is full (backpressure).
+     * Returns false if it stayed full; the product then stays PENDING until the sweeper re-queues it.
+     */
+    public boolean submit(Long productId) {
+        if (executor == null || !inFlight.add(productId)) {
+            return false;
+        }
+        try {
+            if (queue.offer(productId, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        inFlight.remove(productId);
+        rejected.increment();
+        log.warn("AI scoring queue full, product {} left for the next sweep", productId);
+        return false;
+    }
+
+    /**
+     * Re-queues unscored products that were rejected, failed or left over from a previous run.
+     */
+    @Scheduled(initialDelayString = "${ai.score.sweep-interval-ms:60000}",
+               fixedDelayString = "${ai.score.sweep-interval-ms:60000}")
+    public void sweep() {
+        int capacity = queue.remainingCapacity();
+        if (executor == null || capacity == 0) {
+            return;
+        }
+        for (Long id : productRepository.findIdsAwaitingScore(PageRequest.of(0, capacity))) {
+            if (!inFlight.contains(id) && !submit(id)) {
+                break;
+            }
+        }
+    }
+
+    private void runWorker() {
+        List<Long> batch = new ArrayList<>(batchSize);
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                // give a burst of uploads a moment to fill the batch
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(batchWaitMs);
+                while (batch.size() < batchSize) {
+                    Long next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                scoreBatch(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException ex) {
+                log.warn("AI scoring batch failed: {}", ex.getMessage());
+                batch.forEach(this::recordFailure);
+            } finally {
+                batch.forEach(inFlight::remove);
+                batch.clear();
+            }
+        }
+    }
+
+    private void scoreBatch(List<Long> ids) {
+        List<Long> scoredIds = new ArrayList<>(ids.size());
+        List<ImageBlobStore.StoredImage> images = new ArrayList<>(ids.size());
+        List<CompletableFuture<AiScoreResult>> pending = new ArrayList<>(ids.size());
+        // products whose image is cached or already being scored by another call
+        Map<Long, CompletableFuture<AiScoreResult>> joined = new LinkedHashMap<>();
+
+        try {
+            for (Product product : productRepository.findAllById(ids)) {
+                if (product.getAiScore() != null) {
+                    continue;
+                }
+                CompletableFuture<AiScoreResult> reservation = new CompletableFuture<>();
+                CompletableFuture<AiScoreResult> existing = aiScoreCache.joinOrReserve(product.getImageRef(), reservation);
+                if (existing != null) {
+                    joined.put(product.getId(), existing);
+                    continue;
+                }
+
+                Optional<ImageBlobStore.StoredImage> image =
+                    imageBlobStore.lookup(product.getImageRef(), product.getImageContentType());
+                if (image.isPresent()) {
+                    scoredIds.add(product.getId());
+                    images.add(image.get());
+                    pending.add(reservation);
+                } else {
+                    reservation.complete(null);
+                    productService.applyAiScore(product.getId(), null, UNSCORABLE_VERDICT);
+                }
+            }
+
+            if (!images.isEmpty()) {
+                callScorer(scoredIds, images, pending);
+            }
+        } finally {
+            // never leave a reservation open, or joined lookups would wait forever
+            pending.forEach(f -> f.complete(null));
+        }
+
+        joined.forEach((id, future) -> {
+            AiScoreResult result = future.join();
+            if (result != null && result.getAiScore() != null) {
+                productService.applyAiScore(id, result.getAiScore(), result.getQualityLabel());
+            }
+        });
+    }
+
+    private void callScorer(List<Long> scoredIds, List<ImageBlobStore.StoredImage> images,
+                            List<CompletableFuture<AiScoreResult>> pending) {
+        batchSizes.record(images.size());
+        Timer.Sample sample = Timer.start();
+        Optional<List<AiScoreResult>> results = aiScoreService.scoreBatch(images);
+        sample.stop(scoringLatency);
+
+        if (results.isEmpty()) {
+            failedBatches.increment();
+            if (aiScoreService.isHealthy()) {
+                // the scorer is up but refused or failed this batch: count it against the products
+                scoredIds.forEach(this::recordFailure);
+            }
+            // otherwise the service is unavailable: leave the products for the sweeper
+            return;
+        }
+        for (int i = 0; i < scoredIds.size(); i++) {
+            failedAttempts.remove(scoredIds.get(i));
+            AiScoreResult result = results.get().get(i);
+            if (result != null && result.getAiScore() != null) {
+                pending.get(i).complete(result);
+                productService.applyAiScore(scoredIds.get(i), result.getAiScore(), result.getQualityLabel());
+            } else {
+                productService.applyAiScore(scoredIds.get(i), null, UNSCORABLE_VERDICT);
+            }
+        }
+    }
+
+    /**
+     * Marks a product unscorable once it has failed {@code maxAttempts} times, which takes it out of
+     * the sweep instead of re-queueing it forever.
+     */
+    private void recordFailure(Long productId) {
+        if (failedAttempts.merge(productId, 1, Integer::sum) < maxAttempts) {
+            return;
+        }
+        failedAttempts.remove(productId);
+        try {
+            productService.applyAiScore(productId, null, UNSCORABLE_VERDICT);
+            log.warn("Giving up AI scoring for product {} after {} failed attempts", productId, maxAttempts);
+        } catch (RuntimeException ex) {
+            log.warn("Could not mark product {} unscorable: {}", productId, ex.getMessage());
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.infosys.farmtofork.service;
+
+/**
+ * Count-based circuit breaker: opens when the failure rate over the last {@code windowSize} calls
+ * reaches the threshold, rejects calls while open, then lets a limited number of probes through.
+ */
+class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final boolean[] window;
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final long openMillis;
+    private final int halfOpenProbes;
+
+    private State state = State.CLOSED;
+    private int next;
+    private int calls;
+    private int failures;
+    private long openedAt;
+    private int probesInFlight;
+
+    CircuitBreaker(int windowSize, int minCalls, double failureRateThreshold, long openMillis, int halfOpenProbes) {
+        this.window = new boolean[windowSize];
+        this.minCalls = minCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openMillis = openMillis;
+        this.halfOpenProbes = halfOpenProbes;
+    }
+
+    /**
+     * Returns false if the call must not be attempted. Every true must be followed by
+     * exactly one {@link #onSuccess()} or {@link #onFailure()}.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.currentTimeMillis() - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesInFlight = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= halfOpenProbes) {
+                return false;
+            }
+            probesInFlight++;
+        }
+        return true;
+    }
+
+    synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset(State.CLOSED);
+        } else {
+            record(false);
+        }
+    }
+
+    synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (calls >= minCalls && failures >= failureRateThreshold * calls) {
+            open();
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (calls == window.length) {
+            // slot is reused: drop the outcome it held
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % window.length;
+    }
+
+    private void open() {
+        reset(State.OPEN);
+        openedAt = System.currentTimeMillis();
+    }
+
+    private void reset(State newState) {
+        state = newState;
+        next = 0;
+        calls = 0;
+        failures = 0;
+        probesInFlight = 0;
+    }
+}
@@ -0,0 +1,152 @@
+package com.infosys.farmtofork.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed, file-backed store for product images.
+ * Blobs are keyed by the SHA-256 of their bytes, so identical uploads share one file.
+ */
+@Service
+public class ImageBlobStore {
+
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+    private static final String DEFAULT_CONTENT_TYPE = "application/octet-stream";
+    // raster formats the scorer can decode; anything the browser could run as a document (html, svg) stays out
+    private static final Set<String> IMAGE_CONTENT_TYPES = Set.of(
+            "image/jpeg", "image/png", "image/webp", "image/gif", "image/avif", "image/bmp", "image/tiff");
+
+    private final Path root;
+
+    public ImageBlobStore(@Value("${app.images.dir:data/images}") String dir) {
+        this.root = Paths.get(dir).toAbsolutePath().normalize();
+    }
+
+    public static boolean isDataUrl(String value) {
+        return value != null && value.startsWith("data:");
+    }
+
+    /**
+     * Decodes a {@code data:<mime>;base64,<payload>} URL once and stores the bytes.
+     */
+    public StoredImage storeDataUrl(String dataUrl) {
+        int comma = dataUrl.indexOf(',');
+        if (!isDataUrl(dataUrl) || comma < 0) {
+            throw new RuntimeException("Invalid image data URL");
+        }
+
+        String meta = dataUrl.substring("data:".length(), comma);
+        if (!meta.endsWith(";base64")) {
+            throw new RuntimeException("Only base64 image data URLs are supported");
+        }
+        String contentType = meta.substring(0, meta.length() - ";base64".length()).trim().toLowerCase(Locale.ROOT);
+        if (!IMAGE_CONTENT_TYPES.contains(contentType)) {
+            throw new RuntimeException("Unsupported image type, expected one of " + IMAGE_CONTENT_TYPES);
+        }
+
+        byte[] bytes;
+        try {
+            bytes = Base64.getMimeDecoder().decode(dataUrl.substring(comma + 1));
+        } catch (IllegalArgumentException ex) {
+            throw new RuntimeException("Invalid base64 image payload");
+        }
+        return store(bytes, contentType);
+    }
+
+    /**
+     * The type to serve or forward a stored blob as; rows written before types were checked fall
+     * back to a generic binary type.
+     */
+    public static String safeContentType(String contentType) {
+        return contentType != null && IMAGE_CONTENT_TYPES.contains(contentType) ? contentType : DEFAULT_CONTENT_TYPE;
+    }
+
+    public StoredImage store(byte[] bytes, String contentType) {
+        String hash = sha256(bytes);
+        Path target = pathFor(hash);
+
+        try {
+            if (!Files.exists(target)) {
+                Files.createDirectories(target.getParent());
+                // write to a temp file first so readers never see a partial blob
+                Path tmp = Files.createTempFile(target.getParent(), hash, ".tmp");
+                try {
+                    Files.write(tmp, bytes);
+                    moveIntoPlace(tmp, target);
+                } finally {
+                    Files.deleteIfExists(tmp);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to store image " + hash, ex);
+        }
+
+        return new StoredImage(hash, contentType, bytes.length, target);
+    }
+
+    public Optional<Path> find(String hash) {
+        if (hash == null || !HASH_PATTERN.matcher(hash).matches()) {
+            return Optional.empty();
+        }
+        Path path = pathFor(hash);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public Optional<StoredImage> lookup(String hash, String contentType) {
+        return find(hash).map(path -> {
+            try {
+                return new StoredImage(hash, contentType, Files.size(path), path);
+            } catch (IOException ex) {
+                throw new UncheckedIOException("Unable to stat image " + hash, ex);
+            }
+        });
+    }
+
+    private Path pathFor(String hash) {
+        // shard by the first two bytes to keep directories small
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static void moveIntoPlace(Path tmp, Path target) throws IOException {
+        try {
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    public static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class StoredImage {
+        private final String hash;
+        private final String contentType;
+        private final long size;
+        private final Path path;
+    }
+}
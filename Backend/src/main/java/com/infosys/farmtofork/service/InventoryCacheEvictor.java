@@ -0,0 +1,59 @@
+package com.infosys.farmtofork.service;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.infosys.farmtofork.config.CacheConfig;
+import com.infosys.farmtofork.event.ProductScoredEvent;
+import com.infosys.farmtofork.event.StockReservedEvent;
+import com.infosys.farmtofork.repository.InventoryRepository;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Evicts cached owner inventories whose rows changed without going through InventoryService:
+ * stock taken by orders and product fields shown inside the inventory responses. With the ledger
+ * on, reads take quantities from it, so stock taken by orders only moves the owners' ETags.
+ */
+@Service
+public class InventoryCacheEvictor {
+    private final InventoryRepository inventoryRepository;
+    private final InventoryLedger inventoryLedger;
+    private final ResourceVersions resourceVersions;
+    private final CacheManager cacheManager;
+
+    public InventoryCacheEvictor(InventoryRepository inventoryRepository,
+                                 InventoryLedger inventoryLedger,
+                                 ResourceVersions resourceVersions,
+                                 CacheManager cacheManager) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryLedger = inventoryLedger;
+        this.resourceVersions = resourceVersions;
+        this.cacheManager = cacheManager;
+    }
+
+    // after completion rather than commit: with the ledger a rolled-back order briefly showed its reservation
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMPLETION, fallbackExecution = true)
+    public void onStockReserved(StockReservedEvent event) {
+        if (inventoryLedger.isEnabled()) {
+            inventoryLedger.ownersOf(event.getProductIds())
+                    .forEach(ownerId -> resourceVersions.bump(CacheConfig.OWNER_INVENTORY, ownerId));
+            return;
+        }
+        evictOwnersOf(event.getProductIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductScored(ProductScoredEvent event) {
+        evictOwnersOf(Set.of(event.getProductId()));
+    }
+
+    private void evictOwnersOf(Collection<Long> productIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.OWNER_INVENTORY);
+        if (cache != null && !productIds.isEmpty()) {
+            inventoryRepository.findOwnerIdsByProductIds(productIds).forEach(cache::evict);
+        }
+    }
+}
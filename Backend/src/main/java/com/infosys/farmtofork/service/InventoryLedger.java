@@ -0,0 +1,432 @@
+package com.infosys.farmtofork.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.infosys.farmtofork.dto.StockLevel;
+import com.infosys.farmtofork.model.InventoryLedgerCheckpoint;
+import com.infosys.farmtofork.repository.InventoryLedgerCheckpointRepository;
+import com.infosys.farmtofork.repository.InventoryRepository;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Optional in-memory stock ledger for flash sales. Reservations are CAS decrements on per-row
+ * counters, journaled before they are acknowledged; the coalesced deltas are written back to the
+ * inventory table every flush interval. Disabled by default ({@code inventory.ledger.enabled}).
+ *
+ * <p>Crash recovery: the database holds every delta up to the checkpoint sequence stored with the
+ * last flush, so startup loads the table and replays only journal records after it.
+ */
+@Service
+public class InventoryLedger {
+    private static final Logger log = LoggerFactory.getLogger(InventoryLedger.class);
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryLedgerCheckpointRepository checkpointRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StageAggregateService stageAggregateService;
+    private final boolean enabled;
+    private final Path journalDir;
+    private final LedgerJournal journal;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, ConcurrentSkipListMap<Long, Entry>> byProduct = new ConcurrentHashMap<>();
+    // reservations hold the read side from CAS to journal append; a flush takes the write side
+    // so the deltas it drains match exactly the journal records up to the rotated sequence
+    private final ReadWriteLock flushLock = new ReentrantReadWriteLock();
+
+    private final Timer flushLatency;
+    private final Counter flushFailures;
+    private final Counter insufficient;
+
+    public InventoryLedger(InventoryRepository inventoryRepository,
+                           InventoryLedgerCheckpointRepository checkpointRepository,
+                           TransactionTemplate transactionTemplate,
+                           StageAggregateService stageAggregateService,
+                           MeterRegistry meterRegistry,
+                           @Value("${inventory.ledger.enabled:false}") boolean enabled,
+                           @Value("${inventory.ledger.journal-dir:data/inventory-journal}") String journalDir,
+                           @Value("${inventory.ledger.journal-fsync:false}") boolean fsync) {
+        this.inventoryRepository = inventoryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stageAggregateService = stageAggregateService;
+        this.enabled = enabled;
+        this.journalDir = Paths.get(journalDir).toAbsolutePath().normalize();
+        this.journal = new LedgerJournal(this.journalDir, fsync);
+
+        this.flushLatency = Timer.builder("inventory.ledger.flush.latency").register(meterRegistry);
+        this.flushFailures = Counter.builder("inventory.ledger.flush.failures").register(meterRegistry);
+        this.insufficient = meterRegistry.counter("inventory.reservation.insufficient");
+        Gauge.builder("inventory.ledger.rows", entries, Map::size).register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        for (StockLevel level : inventoryRepository.findAllStockLevels()) {
+            index(new Entry(level.getInventoryId(), level.getProductId(), level.getOwnerId(),
+                    level.getQuantity() == null ? 0 : level.getQuantity()));
+        }
+
+        InventoryLedgerCheckpoint checkpoint = checkpointRepository.findById(InventoryLedgerCheckpoint.SINGLETON_ID)
+                .orElse(null);
+        if (checkpoint == null) {
+            // no checkpoint row means a fresh database; a leftover journal belongs to another one
+            discardJournal();
+            checkpoint = checkpointRepository.save(new InventoryLedgerCheckpoint(InventoryLedgerCheckpoint.SINGLETON_ID, 0L));
+        }
+
+        long[] replayed = new long[1];
+        journal.replay(checkpoint.getLastSeq(), (id, delta) -> {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                entry.give(delta);
+                replayed[0]++;
+            }
+        });
+        log.info("Inventory ledger loaded {} rows, replayed {} journaled deltas", entries.size(), replayed[0]);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        flush();
+        journal.close();
+    }
+
+    /**
+     * Takes {@code demand} (quantity per product id) out of the ledger, draining each product's rows
+     * in id order. All or nothing: on shortfall nothing is taken. If called inside a transaction,
+     * the stock is returned when that transaction does not commit.
+     */
+    public void reserve(SortedMap<Long, Long> demand) {
+        Map<Long, Long> taken = new LinkedHashMap<>();
+        flushLock.readLock().lock();
+        try {
+            for (Map.Entry<Long, Long> line : demand.entrySet()) {
+                ConcurrentSkipListMap<Long, Entry> rows = byProduct.get(line.getKey());
+                if (rows == null || rows.isEmpty()) {
+                    continue; // not stock-tracked
+                }
+                long remaining = line.getValue();
+                for (Entry row : rows.values()) {
+                    if (remaining == 0) {
+                        break;
+                    }
+                    long got = row.take(remaining);
+                    if (got > 0) {
+                        taken.merge(row.id, -got, Long::sum);
+                        remaining -= got;
+                    }
+                }
+                if (remaining > 0) {
+                    undo(taken);
+                    insufficient.increment();
+                    throw new RuntimeException("Insufficient stock for product: " + line.getKey());
+                }
+            }
+            if (taken.isEmpty()) {
+                return;
+            }
+            try {
+                journal.append(taken);
+            } catch (RuntimeException ex) {
+                undo(taken);
+                throw ex;
+            }
+        } finally {
+            flushLock.readLock().unlock();
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        Map<Long, Long> returned = new LinkedHashMap<>();
+                        taken.forEach((id, delta) -> returned.put(id, -delta));
+                        apply(returned);
+                    }
+                }
+            });
+        }
+    }
+
+    public boolean isTracking(Long inventoryId) {
+        return enabled && entries.containsKey(inventoryId);
+    }
+
+    public Long available(Long inventoryId) {
+        Entry entry = enabled ? entries.get(inventoryId) : null;
+        return entry == null ? null : entry.available.get();
+    }
+
+    // owners of the tracked rows of these products, without going to the table
+    public Set<Long> ownersOf(Collection<Long> productIds) {
+        Set<Long> owners = new HashSet<>();
+        for (Long productId : productIds) {
+            ConcurrentSkipListMap<Long, Entry> rows = byProduct.get(productId);
+            if (rows != null) {
+                for (Entry row : rows.values()) {
+                    if (row.ownerId != null) {
+                        owners.add(row.ownerId);
+                    }
+                }
+            }
+        }
+        return owners;
+    }
+
+    /**
+     * Sets a row to an absolute quantity, recorded as a delta so it coalesces with reservations.
+     * Inside a transaction it is applied only once that transaction commits.
+     */
+    public void adjustTo(Long inventoryId, long quantity) {
+        Runnable adjust = () -> {
+            Entry entry = entries.get(inventoryId);
+            if (entry == null) {
+                return;
+            }
+            flushLock.readLock().lock();
+            try {
+                long old = entry.available.getAndSet(quantity);
+                entry.pending.add(quantity - old);
+                journal.append(Map.of(inventoryId, quantity - old));
+            } finally {
+                flushLock.readLock().unlock();
+            }
+        };
+        afterCommit(adjust);
+    }
+
+    public void track(Long inventoryId, Long productId, Long ownerId, long quantity) {
+        if (enabled) {
+            afterCommit(() -> index(new Entry(inventoryId, productId, ownerId, quantity)));
+        }
+    }
+
+    public void move(Long inventoryId, Long productId, Long ownerId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            Entry entry = entries.get(inventoryId);
+            if (entry == null) {
+                return;
+            }
+            entry.ownerId = ownerId;
+            if (!Objects.equals(productId, entry.productId)) {
+                unindex(entry);
+                entry.productId = productId;
+                index(entry);
+            }
+        });
+    }
+
+    // applied on commit, so a rolled-back delete leaves the row tracked
+    public void untrack(Long inventoryId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            Entry entry = entries.remove(inventoryId);
+            if (entry != null) {
+                unindex(entry);
+            }
+        });
+    }
+
+    /**
+     * Writes pending deltas to the inventory table in one transaction, together with the
+     * journal sequence they cover. Synchronized so checkpoints never go backwards.
+     */
+    @Scheduled(initialDelayString = "${inventory.ledger.flush-interval-ms:1000}",
+               fixedDelayString = "${inventory.ledger.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (!enabled) {
+            return;
+        }
+        // id order keeps the write-back's row locks in the same order as reservations take them
+        Map<Long, Long> deltas = new TreeMap<>();
+        long seq;
+        flushLock.writeLock().lock();
+        try {
+            for (Entry entry : entries.values()) {
+                long delta = entry.pending.sumThenReset();
+                if (delta != 0) {
+                    deltas.put(entry.id, delta);
+                }
+            }
+            if (deltas.isEmpty()) {
+                return;
+            }
+            seq = journal.rotate();
+        } finally {
+            flushLock.writeLock().unlock();
+        }
+
+        Timer.Sample sample = Timer.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                deltas.forEach(inventoryRepository::applyDelta);
+                stageAggregateService.recordStockDeltasById(deltas);
+                checkpointRepository.save(new InventoryLedgerCheckpoint(InventoryLedgerCheckpoint.SINGLETON_ID, seq));
+            });
+            journal.deleteThrough(seq);
+        } catch (RuntimeException ex) {
+            // still covered by the journal; they go out with the next flush
+            deltas.forEach((id, delta) -> {
+                Entry entry = entries.get(id);
+                if (entry != null) {
+                    entry.pending.add(delta);
+                }
+            });
+            flushFailures.increment();
+            log.warn("Inventory ledger flush failed, {} rows kept pending: {}", deltas.size(), ex.getMessage());
+        } finally {
+            sample.stop(flushLatency);
+        }
+    }
+
+    private void apply(Map<Long, Long> deltas) {
+        flushLock.readLock().lock();
+        try {
+            deltas.forEach((id, delta) -> {
+                Entry entry = entries.get(id);
+                if (entry != null) {
+                    entry.give(delta);
+                }
+            });
+            journal.append(deltas);
+        } finally {
+            flushLock.readLock().unlock();
+        }
+    }
+
+    // reverts CAS decrements that were never journaled
+    private void undo(Map<Long, Long> taken) {
+        taken.forEach((id, delta) -> {
+            Entry entry = entries.get(id);
+            if (entry != null) {
+                entry.give(-delta);
+            }
+        });
+        taken.clear();
+    }
+
+    private void index(Entry entry) {
+        entries.put(entry.id, entry);
+        if (entry.productId != null) {
+            byProduct.computeIfAbsent(entry.productId, k -> new ConcurrentSkipListMap<>()).put(entry.id, entry);
+        }
+    }
+
+    private void unindex(Entry entry) {
+        if (entry.productId != null) {
+            ConcurrentSkipListMap<Long, Entry> rows = byProduct.get(entry.productId);
+            if (rows != null) {
+                rows.remove(entry.id);
+            }
+        }
+    }
+
+    private void discardJournal() {
+        if (!Files.isDirectory(journalDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(journalDir)) {
+            for (Path file : files.toList()) {
+                Files.deleteIfExists(file);
+            }
+            log.warn("Discarded inventory journal in {} left from a previous database", journalDir);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Unable to clear inventory journal in " + journalDir, ex);
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class Entry {
+        final Long id;
+        volatile Long productId;
+        volatile Long ownerId;
+        final AtomicLong available;
+        // net change not yet written to the inventory table
+        final LongAdder pending = new LongAdder();
+
+        Entry(Long id, Long productId, Long ownerId, long quantity) {
+            this.id = id;
+            this.productId = productId;
+            this.ownerId = ownerId;
+            this.available = new AtomicLong(quantity);
+        }
+
+        long take(long wanted) {
+            while (true) {
+                long current = available.get();
+                if (current <= 0) {
+                    return 0;
+                }
+                long got = Math.min(current, wanted);
+                if (available.compareAndSet(current, current - got)) {
+                    pending.add(-got);
+                    return got;
+                }
+            }
+        }
+
+        void give(long amount) {
+            available.addAndGet(amount);
+            pending.add(amount);
+        }
+    }
+}
@@ -1,31 +1,67 @@
 package com.infosys.farmtofork.service;
 
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import com.infosys.farmtofork.config.CacheConfig;
+import com.infosys.farmtofork.mapper.InventoryMapper;
 import com.infosys.farmtofork.model.Inventory;
 import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.model.StageAggregate;
+import com.infosys.farmtofork.model.StageTransition;
 import com.infosys.farmtofork.model.User;
 import com.infosys.farmtofork.repository.InventoryRepository;
 import com.infosys.farmtofork.repository.ProductRepository;
 import com.infosys.farmtofork.repository.UserRepository;
 import com.infosys.farmtofork.dto.InventoryRequest;
+import com.infosys.farmtofork.dto.InventoryResponse;
+import com.infosys.farmtofork.dto.StockLevel;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 public class InventoryService {
     private final InventoryRepository inventoryRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final InventoryLedger inventoryLedger;
+    private final StageAggregateService stageAggregateService;
+    private final InventoryMapper inventoryMapper;
+    private final CacheManager cacheManager;
+    private final ServiceMetrics serviceMetrics;
+    private final TransactionTemplate readOnlyTransaction;
 
     public InventoryService(InventoryRepository inventoryRepository, 
                           ProductRepository productRepository,
-                          UserRepository userRepository) {
+                          UserRepository userRepository,
+                          InventoryLedger inventoryLedger,
+                          StageAggregateService stageAggregateService,
+                          InventoryMapper inventoryMapper,
+                          CacheManager cacheManager,
+                          ServiceMetrics serviceMetrics,
+                          PlatformTransactionManager transactionManager) {
         this.inventoryRepository = inventoryRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
+        this.inventoryLedger = inventoryLedger;
+        this.stageAggregateService = stageAggregateService;
+        this.inventoryMapper = inventoryMapper;
+        this.cacheManager = cacheManager;
+        this.serviceMetrics = serviceMetrics;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.OWNER_INVENTORY, key = "#request.ownerId")
     public Inventory addInventory(InventoryRequest request) {
+        serviceMetrics.timeTransaction("inventory.mutations", "operation", "add");
         Optional<Product> product = productRepository.findById(request.getProductId());
         Optional<User> owner = userRepository.findById(request.getOwnerId());
 
@@ -37,21 +73,39 @@ public class InventoryService {
                 .product(product.get())
                 .owner(owner.get())
                 .quantity(request.getQuantity())
-                .stage(request.getStage() != null ? request.getStage() : "harvested")
+                .stage(request.getStage() != null ? Inventory.Stage.fromCode(request.getStage()) : Inventory.Stage.HARVESTED)
                 .build();
 
-        return inventoryRepository.save(inventory);
+        Inventory saved = inventoryRepository.save(inventory);
+        stageAggregateService.recordChange(null, StageAggregateService.slotOf(saved));
+        inventoryLedger.track(saved.getId(), saved.getProduct().getId(), saved.getOwner().getId(),
+                saved.getQuantity() != null ? saved.getQuantity() : 0L);
+        return saved;
     }
 
     public List<Inventory> getAllInventory() {
-        return inventoryRepository.findAll();
+        return withLedgerQuantities(inventoryRepository.findAll());
     }
 
-    public List<Inventory> getInventoryByOwner(Long ownerId) {
-        return inventoryRepository.findByOwnerId(ownerId);
+    /**
+     * The owner's rows come from the cache, loading from the table on a miss. With the ledger on,
+     * quantities are read from it on every call, so stock taken by orders never invalidates the
+     * cached rows and a warm read does not touch the database.
+     */
+    public List<InventoryResponse> getInventoryByOwner(Long ownerId) {
+        Cache cache = cacheManager.getCache(CacheConfig.OWNER_INVENTORY);
+        // mapped inside the transaction: cached entities would outlive the session their lazy fields need
+        List<InventoryResponse> rows = cache.get(ownerId, () -> readOnlyTransaction.execute(status ->
+                inventoryRepository.findByOwnerId(ownerId).stream()
+                        .map(inventoryMapper::toResponse)
+                        .collect(Collectors.toList())));
+        return responsesWithLedgerQuantities(rows);
     }
 
+    // @Version on Inventory turns a concurrent edit into an optimistic-lock failure instead of a lost update
+    @Transactional
     public Inventory updateInventory(Long id, InventoryRequest request) {
+        serviceMetrics.timeTransaction("inventory.mutations", "operation", "update");
         Optional<Inventory> existingInventory = inventoryRepository.findById(id);
         
         if (existingInventory.isEmpty()) {
@@ -59,6 +113,7 @@ public class InventoryService {
         }
 
         Inventory inventory = existingInventory.get();
+        StockLevel before = StageAggregateService.slotOf(inventory);
         
         if (request.getProductId() != null) {
             Optional<Product> product = productRepository.findById(request.getProductId());
@@ -70,18 +125,82 @@ public class InventoryService {
             owner.ifPresent(inventory::setOwner);
         }
 
-        if (request.getQuantity() != null) {
+        if (request.getProductId() != null || request.getOwnerId() != null) {
+            StockLevel moved = StageAggregateService.slotOf(inventory);
+            inventoryLedger.move(id, moved.getProductId(), moved.getOwnerId());
+        }
+
+        boolean ledgerQuantity = request.getQuantity() != null && inventoryLedger.isTracking(id);
+        if (ledgerQuantity) {
+            // the ledger owns the stock count; the new value reaches the table with its next flush
+            inventoryLedger.adjustTo(id, request.getQuantity());
+        } else if (request.getQuantity() != null) {
             inventory.setQuantity(request.getQuantity());
         }
 
         if (request.getStage() != null) {
-            inventory.setStage(request.getStage());
+            inventory.setStage(Inventory.Stage.fromCode(request.getStage()));
         }
 
-        return inventoryRepository.save(inventory);
+        Inventory saved = inventoryRepository.save(inventory);
+        StockLevel after = StageAggregateService.slotOf(saved);
+        stageAggregateService.recordChange(before, after);
+        evictOwnerInventory(before.getOwnerId(), after.getOwnerId());
+        return ledgerQuantity ? saved.toBuilder().quantity(request.getQuantity()).build() : saved;
     }
 
+    @Transactional
     public void deleteInventory(Long id) {
-        inventoryRepository.deleteById(id);
+        serviceMetrics.timeTransaction("inventory.mutations", "operation", "delete");
+        inventoryRepository.findById(id).ifPresent(inventory -> {
+            StockLevel before = StageAggregateService.slotOf(inventory);
+            stageAggregateService.recordChange(before, null);
+            inventoryRepository.delete(inventory);
+            evictOwnerInventory(before.getOwnerId());
+        });
+        inventoryLedger.untrack(id);
+    }
+
+    public Map<String, Long> getStageQuantities(StageAggregate.Dimension dimension, String key) {
+        return stageAggregateService.quantitiesByStage(dimension, key);
+    }
+
+    public List<StageTransition> getStageHistory(Long inventoryId) {
+        return stageAggregateService.history(inventoryId);
+    }
+
+    private void evictOwnerInventory(Long... ownerIds) {
+        Cache cache = cacheManager.getCache(CacheConfig.OWNER_INVENTORY);
+        for (Long ownerId : ownerIds) {
+            if (cache != null && ownerId != null) {
+                cache.evict(ownerId);
+            }
+        }
+    }
+
+    // copies, so a ledger quantity can never be flushed back through a managed entity
+    private List<Inventory> withLedgerQuantities(List<Inventory> rows) {
+        if (!inventoryLedger.isEnabled()) {
+            return rows;
+        }
+        return rows.stream()
+                .map(row -> {
+                    Long available = inventoryLedger.available(row.getId());
+                    return available == null ? row : row.toBuilder().quantity(available).build();
+                })
+                .collect(Collectors.toList());
+    }
+
+    // copies, so the cached rows keep whatever quantity they were loaded with
+    private List<InventoryResponse> responsesWithLedgerQuantities(List<InventoryResponse> rows) {
+        if (!inventoryLedger.isEnabled()) {
+            return rows;
+        }
+        return rows.stream()
+                .map(row -> {
+                    Long available = inventoryLedger.available(row.getId());
+                    return available == null ? row : row.toBuilder().quantity(available).build();
+                })
+                .collect(Collectors.toList());
     }
 }
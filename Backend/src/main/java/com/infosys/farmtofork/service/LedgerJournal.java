@@ -0,0 +1,167 @@
+package com.infosys.farmtofork.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Append-only journal of inventory deltas, one line per record: {@code <seq> <inventoryId>=<delta> ... .}
+ * The trailing dot marks a complete record.
+ * Split into segments named after the first sequence they hold; {@link #rotate()} starts a new one
+ * so segments that are fully flushed can be deleted.
+ */
+class LedgerJournal implements Closeable {
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".log";
+
+    private final Path dir;
+    private final boolean fsync;
+
+    private FileChannel channel;
+    private long seq;
+
+    LedgerJournal(Path dir, boolean fsync) {
+        this.dir = dir;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Feeds every record after {@code afterSeq} to {@code apply}, then opens a fresh segment.
+     * A torn last line from a crash is ignored.
+     */
+    synchronized void replay(long afterSeq, BiConsumer<Long, Long> apply) {
+        try {
+            Files.createDirectories(dir);
+            seq = afterSeq;
+            for (Path segment : segments()) {
+                try (BufferedReader reader = Files.newBufferedReader(segment, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        replayLine(line, afterSeq, apply);
+                    }
+                }
+            }
+            open();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to replay inventory journal in " + dir, ex);
+        }
+    }
+
+    synchronized long append(Map<Long, Long> deltas) {
+        StringBuilder line = new StringBuilder(32 + deltas.size() * 16).append(seq + 1);
+        deltas.forEach((id, delta) -> line.append(' ').append(id).append('=').append(delta));
+        line.append(" .\n");
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(line.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (fsync) {
+                channel.force(false);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to append to inventory journal", ex);
+        }
+        return ++seq;
+    }
+
+    /**
+     * Closes the current segment and returns the last sequence it holds.
+     */
+    synchronized long rotate() {
+        try {
+            channel.force(false);
+            channel.close();
+            open();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to rotate inventory journal", ex);
+        }
+        return seq;
+    }
+
+    /**
+     * Deletes closed segments whose records are all at or below {@code flushedSeq}.
+     */
+    synchronized void deleteThrough(long flushedSeq) {
+        try {
+            List<Path> segments = segments();
+            for (int i = 0; i + 1 < segments.size(); i++) {
+                if (firstSeq(segments.get(i + 1)) - 1 <= flushedSeq) {
+                    Files.deleteIfExists(segments.get(i));
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to prune inventory journal", ex);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+        }
+    }
+
+    private void open() throws IOException {
+        // zero-padded so lexical order matches sequence order
+        Path segment = dir.resolve(String.format("%s%019d%s", PREFIX, seq + 1, SUFFIX));
+        channel = FileChannel.open(segment, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    private void replayLine(String line, long afterSeq, BiConsumer<Long, Long> apply) {
+        String[] parts = line.trim().split(" ");
+        if (parts.length < 2 || !".".equals(parts[parts.length - 1])) {
+            return;
+        }
+        long recordSeq;
+        try {
+            recordSeq = Long.parseLong(parts[0]);
+        } catch (NumberFormatException ex) {
+            return;
+        }
+        List<long[]> deltas = new ArrayList<>(parts.length - 2);
+        for (int i = 1; i < parts.length - 1; i++) {
+            int eq = parts[i].indexOf('=');
+            if (eq < 0) {
+                return;
+            }
+            try {
+                deltas.add(new long[] {Long.parseLong(parts[i].substring(0, eq)), Long.parseLong(parts[i].substring(eq + 1))});
+            } catch (NumberFormatException ex) {
+                return;
+            }
+        }
+        seq = Math.max(seq, recordSeq);
+        if (recordSeq > afterSeq) {
+            deltas.forEach(d -> apply.accept(d[0], d[1]));
+        }
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> {
+                String name = p.getFileName().toString();
+                return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+            }).sorted().toList();
+        }
+    }
+
+    private static long firstSeq(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -1,6 +1,23 @@
 package com.infosys.farmtofork.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.persistence.EntityManager;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.infosys.farmtofork.config.CacheConfig;
+import com.infosys.farmtofork.event.OrderDeletedEvent;
+import com.infosys.farmtofork.event.OrderPlacedEvent;
+import com.infosys.farmtofork.event.OrderStatusChangedEvent;
+import com.infosys.farmtofork.mapper.OrderMapper;
 import com.infosys.farmtofork.model.Order;
 import com.infosys.farmtofork.model.OrderItem;
 import com.infosys.farmtofork.model.Product;
@@ -9,143 +26,316 @@ import com.infosys.farmtofork.repository.OrderRepository;
 import com.infosys.farmtofork.repository.OrderItemRepository;
 import com.infosys.farmtofork.repository.ProductRepository;
 import com.infosys.farmtofork.repository.UserRepository;
+import com.infosys.farmtofork.dto.CursorPage;
 import com.infosys.farmtofork.dto.OrderRequest;
 import com.infosys.farmtofork.dto.OrderItemRequest;
 import com.infosys.farmtofork.dto.OrderResponse;
 import com.infosys.farmtofork.dto.OrderItemResponse;
-import java.text.SimpleDateFormat;
+import com.infosys.farmtofork.dto.OrderItemRow;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class OrderService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    private static final int EXPORT_CHUNK_SIZE = 500;
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final OrderMapper orderMapper;
+    private final StockReservationService stockReservationService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final ServiceMetrics serviceMetrics;
+    private final DistributionSummary itemsPerOrder;
 
     public OrderService(OrderRepository orderRepository,
                        OrderItemRepository orderItemRepository,
                        ProductRepository productRepository,
-                       UserRepository userRepository) {
+                       UserRepository userRepository,
+                       EntityManager entityManager,
+                       ObjectMapper objectMapper,
+                       OrderMapper orderMapper,
+                       StockReservationService stockReservationService,
+                       ApplicationEventPublisher eventPublisher,
+                       CacheManager cacheManager,
+                       ServiceMetrics serviceMetrics,
+                       MeterRegistry meterRegistry) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.productRepository = productRepository;
         this.userRepository = userRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+        this.orderMapper = orderMapper;
+        this.stockReservationService = stockReservationService;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.serviceMetrics = serviceMetrics;
+        this.itemsPerOrder = DistributionSummary.builder("orders.items")
+                .description("Line items per order request")
+                .register(meterRegistry);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CUSTOMER_ORDERS, key = "#request.customerId")
     public OrderResponse createOrder(OrderRequest request) {
+        serviceMetrics.timeTransaction("orders.create");
+        itemsPerOrder.record(request.getItems().size());
         Optional<User> customer = userRepository.findById(request.getCustomerId());
 
         if (customer.isEmpty()) {
             throw new RuntimeException("Customer not found");
         }
 
+        // Cached products come from the second-level cache, the rest in one query
+        Set<Long> productIds = request.getItems().stream()
+                .map(OrderItemRequest::getProductId)
+                .collect(Collectors.toSet());
+        Map<Long, Product> products = productRepository.loadAll(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
         // Create order
         Order order = Order.builder()
                 .customer(customer.get())
                 .status("CREATED")
                 .createdAt(new Date())
-                .totalAmount(0.0)
                 .build();
 
-        order = orderRepository.save(order);
-
         // Add items to order
         double totalAmount = 0.0;
+        Map<Long, Long> reserved = new HashMap<>();
         for (OrderItemRequest itemRequest : request.getItems()) {
-            Optional<Product> product = productRepository.findById(itemRequest.getProductId());
+            Product prod = products.get(itemRequest.getProductId());
 
-            if (product.isEmpty()) {
+            if (prod == null) {
                 throw new RuntimeException("Product not found: " + itemRequest.getProductId());
             }
 
-            Product prod = product.get();
+            if (itemRequest.getQuantity() == null || itemRequest.getQuantity() <= 0) {
+                throw new RuntimeException("Quantity must be positive for product: " + prod.getId());
+            }
+
             // Product model no longer guarantees a price field — require price in request
             Double itemPrice = itemRequest.getPrice();
             if (itemPrice == null) {
                 throw new RuntimeException("Price must be provided for product: " + prod.getId());
             }
 
-                OrderItem item = OrderItem.builder()
+            order.getItems().add(OrderItem.builder()
                     .order(order)
                     .product(prod)
                     .quantity(itemRequest.getQuantity())
                     .price(itemPrice)
-                    .build();
-
-                OrderItem savedItem = orderItemRepository.save(item);
-                // keep the in-memory relationship in sync so convertToResponse sees the items
-                order.getItems().add(savedItem);
-                totalAmount += itemPrice * itemRequest.getQuantity();
+                    .build());
+            totalAmount += itemPrice * itemRequest.getQuantity();
+            reserved.merge(prod.getId(), itemRequest.getQuantity(), Long::sum);
         }
 
-        // Update order total amount
         order.setTotalAmount(totalAmount);
+
+        // Reserve last so inventory row locks are held for as short a time as possible
+        stockReservationService.reserve(reserved);
+
+        // Items cascade from the order; the inserts are batched into one flush at commit
         order = orderRepository.save(order);
+        eventPublisher.publishEvent(new OrderPlacedEvent(order));
 
-        return convertToResponse(order);
+        return orderMapper.toResponse(order);
     }
 
+    @Transactional(readOnly = true)
     public List<OrderResponse> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return toResponses(orderRepository.findAllWithCustomer());
     }
 
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getOrderPage(Long afterId, Integer limit) {
+        int size = pageSize(limit);
+        return toPage(orderRepository.findPageWithCustomer(afterOrZero(afterId), PageRequest.of(0, size + 1)), size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponse> getCustomerOrderPage(Long customerId, Long afterId, Integer limit) {
+        int size = pageSize(limit);
+        return toPage(orderRepository.findCustomerPageWithCustomer(customerId, afterOrZero(afterId),
+                PageRequest.of(0, size + 1)), size);
+    }
+
+    /**
+     * Writes every order to {@code out} as NDJSON (one OrderResponse per line) or CSV (one row per line item).
+     * Orders are streamed from the database and handled in fixed-size chunks, so heap use does not grow
+     * with the number of orders.
+     */
+    @Transactional(readOnly = true)
+    public void exportOrders(String format, OutputStream out) throws IOException {
+        boolean csv = "csv".equalsIgnoreCase(format);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        SequenceWriter ndjson = csv ? null : objectMapper.writer().withRootValueSeparator("\n").writeValues(writer);
+        if (csv) {
+            writer.write("orderId,customerId,customerName,totalAmount,status,createdAt,"
+                    + "itemId,productId,productName,quantity,price\n");
+        }
+
+        List<Order> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Order> orders = orderRepository.streamAllWithCustomer()) {
+            orders.forEach(order -> {
+                chunk.add(order);
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    writeChunk(chunk, ndjson, writer);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+        writeChunk(chunk, ndjson, writer);
+
+        if (ndjson != null) {
+            ndjson.flush();
+        }
+        writer.flush();
+    }
+
+    @Transactional(readOnly = true)
     public Optional<OrderResponse> getOrderById(Long id) {
-        return orderRepository.findById(id)
-                .map(this::convertToResponse);
+        return orderRepository.findWithItemsById(id)
+                .map(orderMapper::toResponse);
     }
 
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.CUSTOMER_ORDERS, key = "#customerId", sync = true)
     public List<OrderResponse> getOrdersByCustomer(Long customerId) {
-        return orderRepository.findByCustomerId(customerId).stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return toResponses(orderRepository.findByCustomerIdWithCustomer(customerId));
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CUSTOMER_ORDERS, key = "#result.customerId")
     public OrderResponse updateOrderStatus(Long id, String status) {
-        Optional<Order> order = orderRepository.findById(id);
+        Optional<Order> order = orderRepository.findWithItemsById(id);
 
         if (order.isEmpty()) {
             throw new RuntimeException("Order not found");
         }
 
         Order existingOrder = order.get();
+        String previousStatus = existingOrder.getStatus();
         existingOrder.setStatus(status);
         existingOrder = orderRepository.save(existingOrder);
+        eventPublisher.publishEvent(new OrderStatusChangedEvent(existingOrder, previousStatus));
 
-        return convertToResponse(existingOrder);
+        return orderMapper.toResponse(existingOrder);
     }
 
+    @Transactional
     public void deleteOrder(Long id) {
-        orderRepository.deleteById(id);
-    }
-
-    private OrderResponse convertToResponse(Order order) {
-        List<OrderItemResponse> items = order.getItems().stream()
-                .map(item -> OrderItemResponse.builder()
-                        .id(item.getId())
-                        .productId(item.getProduct().getId())
-                        .productName(item.getProduct().getName())
-                        .quantity(item.getQuantity())
-                        .price(item.getPrice())
-                        .build())
-                .collect(Collectors.toList());
-
-        SimpleDateFormat formatter = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
-        String formattedDate = order.getCreatedAt() != null ? formatter.format(order.getCreatedAt()) : null;
-
-        return OrderResponse.builder()
-                .id(order.getId())
-                .customerId(order.getCustomer().getId())
-                .customerName(order.getCustomer().getName())
-                .totalAmount(order.getTotalAmount())
-                .status(order.getStatus())
-                .createdAt(formattedDate)
-                .items(items)
+        orderRepository.findById(id).ifPresent(order -> {
+            orderRepository.delete(order);
+            eventPublisher.publishEvent(new OrderDeletedEvent(order));
+            Cache cache = cacheManager.getCache(CacheConfig.CUSTOMER_ORDERS);
+            if (cache != null && order.getCustomer() != null) {
+                cache.evict(order.getCustomer().getId());
+            }
+        });
+    }
+
+    private void writeChunk(List<Order> chunk, SequenceWriter ndjson, Writer csv) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            for (OrderResponse response : toResponses(chunk)) {
+                if (ndjson != null) {
+                    ndjson.write(response);
+                } else {
+                    writeCsv(response, csv);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        chunk.clear();
+        // drop the exported orders and customers from the persistence context
+        entityManager.clear();
+    }
+
+    private void writeCsv(OrderResponse order, Writer out) throws IOException {
+        String prefix = order.getId() + "," + order.getCustomerId() + "," + csvField(order.getCustomerName()) + ","
+                + order.getTotalAmount() + "," + csvField(order.getStatus()) + "," + csvField(order.getCreatedAt()) + ",";
+        if (order.getItems().isEmpty()) {
+            out.write(prefix + ",,,,\n");
+            return;
+        }
+        for (OrderItemResponse item : order.getItems()) {
+            out.write(prefix + item.getId() + "," + item.getProductId() + "," + csvField(item.getProductName()) + ","
+                    + item.getQuantity() + "," + item.getPrice() + "\n");
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+
+    private CursorPage<OrderResponse> toPage(List<Order> rows, int size) {
+        Long nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = rows.get(size - 1).getId();
+        }
+        return CursorPage.<OrderResponse>builder()
+                .items(toResponses(rows))
+                .nextCursor(nextCursor)
                 .build();
     }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static long afterOrZero(Long afterId) {
+        return afterId == null ? 0L : afterId;
+    }
+
+    // Two queries for any number of orders: orders with their customer, then all their lines
+    private List<OrderResponse> toResponses(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, List<OrderItemResponse>> itemsByOrder = orderItemRepository
+                .findRowsByOrderIds(orders.stream().map(Order::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(OrderItemRow::getOrderId,
+                        Collectors.mapping(orderMapper::toItemResponse, Collectors.toList())));
+
+        List<OrderResponse> responses = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            responses.add(orderMapper.toResponse(order, itemsByOrder.getOrDefault(order.getId(), List.of())));
+        }
+        return responses;
+    }
 }
@@ -0,0 +1,175 @@
+package com.infosys.farmtofork.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.infosys.farmtofork.dto.ProductLocation;
+import com.infosys.farmtofork.event.ProductCreatedEvent;
+import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.repository.ProductRepository;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory grid of located products for radius queries. The globe is cut into square cells of
+ * {@code app.geo.cell-degrees}; a query only visits the cells overlapping its bounding box and
+ * checks great-circle distance for the points in them. Filled from the table at startup and kept
+ * current from product create events.
+ */
+@Service
+public class ProductGeoIndex {
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    private static final int LOAD_PAGE = 5000;
+
+    public record Hit(Long productId, double distanceKm) {}
+
+    private final ProductRepository productRepository;
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+
+    private final Map<Long, Map<Long, ProductLocation>> cells = new ConcurrentHashMap<>();
+    private final Map<Long, Long> cellOfProduct = new ConcurrentHashMap<>();
+
+    public ProductGeoIndex(ProductRepository productRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${app.geo.cell-degrees:0.5}") double cellDegrees) {
+        this.productRepository = productRepository;
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.ceil(180 / cellDegrees);
+        this.columns = (int) Math.ceil(360 / cellDegrees);
+        Gauge.builder("products.geo.indexed", cellOfProduct, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Loads every located product in id order. Products are never deleted, so entries written by
+     * events during the load are simply overwritten with the same position.
+     */
+    public int rebuild() {
+        int loaded = 0;
+        long afterId = 0;
+        List<ProductLocation> page;
+        do {
+            page = productRepository.findLocationsAfter(afterId, PageRequest.of(0, LOAD_PAGE));
+            page.forEach(this::put);
+            loaded += page.size();
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == LOAD_PAGE);
+        return loaded;
+    }
+
+    public int size() {
+        return cellOfProduct.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCreated(ProductCreatedEvent event) {
+        Product p = event.getProduct();
+        if (p.getLatitude() != null && p.getLongitude() != null) {
+            put(new ProductLocation(p.getId(), p.getLatitude(), p.getLongitude(), p.getCropType()));
+        }
+    }
+
+    public void put(ProductLocation location) {
+        long cell = cellOf(location.getLatitude(), location.getLongitude());
+        cells.computeIfAbsent(cell, k -> new ConcurrentHashMap<>()).put(location.getId(), location);
+        Long previous = cellOfProduct.put(location.getId(), cell);
+        if (previous != null && previous != cell) {
+            Map<Long, ProductLocation> old = cells.get(previous);
+            if (old != null) {
+                old.remove(location.getId());
+            }
+        }
+    }
+
+    /**
+     * Products within {@code radiusKm} of the point, nearest first.
+     */
+    public List<Hit> nearby(double lat, double lon, double radiusKm, String cropType, int limit) {
+        double latDelta = radiusKm / KM_PER_DEGREE;
+        int minRow = row(Math.max(-90, lat - latDelta));
+        int maxRow = row(Math.min(90, lat + latDelta));
+
+        // a degree of longitude shrinks towards the poles, so widen the box at its highest latitude
+        double maxAbsLat = Math.min(90, Math.abs(lat) + latDelta);
+        double cos = Math.cos(Math.toRadians(maxAbsLat));
+        boolean allColumns = cos < 1e-9 || latDelta / cos >= 180;
+        int firstColumn = 0;
+        int columnCount = columns;
+        if (!allColumns) {
+            double lonDelta = latDelta / cos;
+            firstColumn = column(lon - lonDelta);
+            columnCount = Math.floorMod(column(lon + lonDelta) - firstColumn, columns) + 1;
+        }
+
+        List<Hit> hits = new ArrayList<>();
+        long boxCells = (long) (maxRow - minRow + 1) * columnCount;
+        if (boxCells > cells.size()) {
+            // a box wider than the occupied grid: walking the occupied cells is cheaper
+            for (Map<Long, ProductLocation> cell : cells.values()) {
+                collect(cell.values(), lat, lon, radiusKm, cropType, hits);
+            }
+        } else {
+            for (int r = minRow; r <= maxRow; r++) {
+                for (int i = 0; i < columnCount; i++) {
+                    Map<Long, ProductLocation> cell = cells.get(key(r, (firstColumn + i) % columns));
+                    if (cell != null) {
+                        collect(cell.values(), lat, lon, radiusKm, cropType, hits);
+                    }
+                }
+            }
+        }
+
+        hits.sort(Comparator.comparingDouble(Hit::distanceKm));
+        return hits.size() > limit ? new ArrayList<>(hits.subList(0, limit)) : hits;
+    }
+
+    private static void collect(Collection<ProductLocation> points, double lat, double lon, double radiusKm,
+                                String cropType, List<Hit> hits) {
+        for (ProductLocation point : points) {
+            if (cropType != null && !cropType.equals(point.getCropType())) {
+                continue;
+            }
+            double distance = distanceKm(lat, lon, point.getLatitude(), point.getLongitude());
+            if (distance <= radiusKm) {
+                hits.add(new Hit(point.getId(), distance));
+            }
+        }
+    }
+
+    // haversine
+    static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private long cellOf(double lat, double lon) {
+        return key(row(lat), column(lon));
+    }
+
+    private long key(int row, int column) {
+        return (long) row * columns + column;
+    }
+
+    private int row(double lat) {
+        return Math.min(rows - 1, (int) Math.floor((lat + 90) / cellDegrees));
+    }
+
+    private int column(double lon) {
+        return Math.floorMod((int) Math.floor((lon + 180) / cellDegrees), columns);
+    }
+}
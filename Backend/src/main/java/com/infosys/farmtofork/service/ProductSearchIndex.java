@@ -0,0 +1,434 @@
+package com.infosys.farmtofork.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.facet.FacetResult;
+import org.apache.lucene.facet.FacetsCollector;
+import org.apache.lucene.facet.FacetsConfig;
+import org.apache.lucene.facet.LabelAndValue;
+import org.apache.lucene.facet.sortedset.DefaultSortedSetDocValuesReaderState;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetCounts;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesFacetField;
+import org.apache.lucene.facet.sortedset.SortedSetDocValuesReaderState;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.FuzzyQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import com.infosys.farmtofork.dto.ProductFilter;
+import com.infosys.farmtofork.dto.ProductSearchQuery;
+import com.infosys.farmtofork.dto.ProductSearchResponse;
+import com.infosys.farmtofork.dto.ProductSummary;
+import com.infosys.farmtofork.event.ProductCreatedEvent;
+import com.infosys.farmtofork.event.ProductScoredEvent;
+import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.repository.ProductRepository;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process Lucene index over the product catalog: fuzzy/prefix name search, exact filters,
+ * AI score ranges and facet counts. Updated after each product write commits; searches see
+ * changes within {@code app.search.refresh-ms}. The database stays the source of truth and
+ * {@link #reindex()} rebuilds the index from it.
+ */
+@Service
+public class ProductSearchIndex {
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchIndex.class);
+
+    static final String ID = "id";
+    static final String NAME = "name";
+    static final String TEXT = "text"; // name, crop type, quality and location together
+    static final String CROP_TYPE = "cropType";
+    static final String QUALITY_GRADE = "qualityGrade";
+    static final String STATUS = "status";
+    static final String LOCATION = "location";
+    static final String AI_SCORE = "aiScore";
+    static final String GENERATION = "generation"; // which rebuild last wrote the document
+    static final List<String> FACET_FIELDS = List.of(CROP_TYPE, QUALITY_GRADE, STATUS, LOCATION);
+
+    private static final int REINDEX_PAGE = 1000;
+    private static final int FACET_TOP_N = 20;
+
+    private final ProductRepository productRepository;
+    private final String indexDir;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final FacetsConfig facetsConfig = new FacetsConfig();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    // ordinal map for facet counting, rebuilt once per reader rather than per query
+    private volatile FacetState facetState;
+    // stamped on every document written; a rebuild drops documents still carrying an older one
+    private volatile String generation = Long.toString(System.currentTimeMillis(), 36);
+    // held shared while a single document is written, exclusively while the generation changes
+    private final ReadWriteLock generationLock = new ReentrantReadWriteLock();
+
+    public ProductSearchIndex(ProductRepository productRepository,
+                              @Value("${app.search.dir:data/search-index}") String indexDir) {
+        this.productRepository = productRepository;
+        this.indexDir = indexDir;
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = FSDirectory.open(Paths.get(indexDir).toAbsolutePath().normalize());
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close(); // commits
+        directory.close();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductCreated(ProductCreatedEvent event) {
+        Product p = event.getProduct();
+        index(ProductSummary.builder()
+                .id(p.getId())
+                .name(p.getName())
+                .cropType(p.getCropType())
+                .quantityKg(p.getQuantityKg())
+                .qualityGrade(p.getQualityGrade())
+                .harvestDate(p.getHarvestDate())
+                .location(p.getLocation())
+                .imageUrl(p.getImageUrl())
+                .category(p.getCategory())
+                .price(p.getPrice())
+                .unit(p.getUnit())
+                .aiScore(p.getAiScore())
+                .aiVerdict(p.getAiVerdict())
+                .status(p.getStatus())
+                .latitude(p.getLatitude())
+                .longitude(p.getLongitude())
+                .build());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductScored(ProductScoredEvent event) {
+        productRepository.findSummaryById(event.getProductId()).ifPresent(this::index);
+    }
+
+    public void index(ProductSummary product) {
+        generationLock.readLock().lock();
+        try {
+            writer.updateDocument(new Term(ID, product.getId().toString()), toDocument(product, generation));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Unable to index product " + product.getId(), ex);
+        } finally {
+            generationLock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Rewrites every document from the current catalog, reading it in id-ordered pages, then drops
+     * documents for products that no longer exist. Documents are replaced in place, so searches that
+     * refresh mid-rebuild still see the whole catalog and a product indexed concurrently is never
+     * duplicated.
+     */
+    public synchronized long reindex() throws IOException {
+        // anything indexed from now on, by this rebuild or by a write event, carries the new generation;
+        // a write event still holding the old one finishes first, so it cannot overwrite a rebuilt document
+        String current = Long.toString(System.nanoTime(), 36);
+        generationLock.writeLock().lock();
+        try {
+            generation = current;
+        } finally {
+            generationLock.writeLock().unlock();
+        }
+        long count = 0;
+        Long afterId = null;
+        ProductFilter all = ProductFilter.builder().build();
+        List<ProductSummary> page;
+        do {
+            page = productRepository.findSummaries(all, afterId, REINDEX_PAGE);
+            for (ProductSummary product : page) {
+                writer.updateDocument(new Term(ID, product.getId().toString()), toDocument(product, current));
+            }
+            count += page.size();
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == REINDEX_PAGE);
+        writer.deleteDocuments(new BooleanQuery.Builder()
+                .add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(GENERATION, current)), BooleanClause.Occur.MUST_NOT)
+                .build());
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+        log.info("Search index rebuilt with {} products", count);
+        return count;
+    }
+
+    @Scheduled(fixedDelayString = "${app.search.refresh-ms:500}")
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    // uncommitted documents are lost on a crash; startup compares the index size with the table
+    @Scheduled(fixedDelayString = "${app.search.commit-interval-ms:5000}")
+    public void commit() throws IOException {
+        if (writer.hasUncommittedChanges()) {
+            writer.commit();
+        }
+    }
+
+    public ProductSearchResponse search(ProductSearchQuery request) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            FacetsCollector hits = new FacetsCollector();
+            TopDocs top = FacetsCollector.search(searcher, buildQuery(request), request.getOffset() + request.getLimit(), hits);
+
+            List<ProductSummary> items = new ArrayList<>(request.getLimit());
+            StoredFields storedFields = searcher.storedFields();
+            ScoreDoc[] docs = top.scoreDocs;
+            for (int i = request.getOffset(); i < docs.length; i++) {
+                items.add(fromDocument(storedFields.document(docs[i].doc)));
+            }
+
+            return ProductSearchResponse.builder()
+                    .total(top.totalHits.value)
+                    .items(items)
+                    .facets(facetCounts(searcher.getIndexReader(), hits))
+                    .build();
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private Query buildQuery(ProductSearchQuery request) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        List<String> tokens = tokens(request.getText());
+        if (tokens.isEmpty()) {
+            query.add(new MatchAllDocsQuery(), BooleanClause.Occur.MUST);
+        }
+        // every token has to match somewhere; exact name hits rank above prefix and fuzzy ones
+        for (String token : tokens) {
+            BooleanQuery.Builder alternatives = new BooleanQuery.Builder();
+            alternatives.add(new BoostQuery(new TermQuery(new Term(NAME, token)), 4f), BooleanClause.Occur.SHOULD);
+            if (token.length() >= 2) {
+                alternatives.add(new BoostQuery(new PrefixQuery(new Term(NAME, token)), 2f), BooleanClause.Occur.SHOULD);
+            }
+            if (token.length() >= 3) {
+                // a one-character exact prefix keeps the fuzzy term walk small
+                int edits = token.length() >= 6 ? 2 : 1;
+                alternatives.add(new FuzzyQuery(new Term(NAME, token), edits, 1), BooleanClause.Occur.SHOULD);
+            }
+            alternatives.add(new TermQuery(new Term(TEXT, token)), BooleanClause.Occur.SHOULD);
+            query.add(alternatives.build(), BooleanClause.Occur.MUST);
+        }
+
+        addFilter(query, CROP_TYPE, request.getCropType());
+        addFilter(query, QUALITY_GRADE, request.getQualityGrade());
+        addFilter(query, STATUS, request.getStatus() != null ? request.getStatus().name() : null);
+        addFilter(query, LOCATION, request.getLocation());
+        if (request.getMinAiScore() != null || request.getMaxAiScore() != null) {
+            double min = request.getMinAiScore() != null ? request.getMinAiScore() : Double.NEGATIVE_INFINITY;
+            double max = request.getMaxAiScore() != null ? request.getMaxAiScore() : Double.POSITIVE_INFINITY;
+            query.add(DoublePoint.newRangeQuery(AI_SCORE, min, max), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private static void addFilter(BooleanQuery.Builder query, String field, String value) {
+        if (value != null && !value.isBlank()) {
+            query.add(new TermQuery(new Term(field, value)), BooleanClause.Occur.FILTER);
+        }
+    }
+
+    private Map<String, Map<String, Long>> facetCounts(IndexReader reader, FacetsCollector hits) throws IOException {
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+        SortedSetDocValuesReaderState state = facetState(reader);
+        if (state == null) {
+            return facets;
+        }
+        SortedSetDocValuesFacetCounts counts = new SortedSetDocValuesFacetCounts(state, hits);
+        for (String field : FACET_FIELDS) {
+            Map<String, Long> values = new LinkedHashMap<>();
+            try {
+                FacetResult result = counts.getTopChildren(FACET_TOP_N, field);
+                if (result != null) {
+                    for (LabelAndValue lv : result.labelValues) {
+                        values.put(lv.label, lv.value.longValue());
+                    }
+                }
+            } catch (IllegalArgumentException ex) {
+                // no document has a value for this field yet
+            }
+            facets.put(field, values);
+        }
+        return facets;
+    }
+
+    private SortedSetDocValuesReaderState facetState(IndexReader reader) throws IOException {
+        FacetState current = facetState;
+        if (current != null && current.reader == reader) {
+            return current.state;
+        }
+        synchronized (this) {
+            current = facetState;
+            if (current == null || current.reader != reader) {
+                SortedSetDocValuesReaderState state;
+                try {
+                    state = new DefaultSortedSetDocValuesReaderState(reader, facetsConfig);
+                } catch (IllegalArgumentException ex) {
+                    state = null; // empty index
+                }
+                current = new FacetState(reader, state);
+                facetState = current;
+            }
+            return current.state;
+        }
+    }
+
+    private List<String> tokens(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+        try (TokenStream stream = analyzer.tokenStream(NAME, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                tokens.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return tokens;
+    }
+
+    private Document toDocument(ProductSummary p, String generation) throws IOException {
+        Document doc = new Document();
+        doc.add(new StringField(ID, p.getId().toString(), Field.Store.YES));
+        doc.add(new StringField(GENERATION, generation, Field.Store.NO));
+        StringBuilder text = new StringBuilder();
+        if (p.getName() != null) {
+            doc.add(new TextField(NAME, p.getName(), Field.Store.YES));
+            text.append(p.getName()).append(' ');
+        }
+        keyword(doc, text, CROP_TYPE, p.getCropType());
+        keyword(doc, text, QUALITY_GRADE, p.getQualityGrade());
+        keyword(doc, text, LOCATION, p.getLocation());
+        keyword(doc, text, STATUS, p.getStatus() != null ? p.getStatus().name() : null);
+        doc.add(new TextField(TEXT, text.toString(), Field.Store.NO));
+        if (p.getAiScore() != null) {
+            doc.add(new DoublePoint(AI_SCORE, p.getAiScore()));
+            doc.add(new StoredField(AI_SCORE, p.getAiScore()));
+        }
+        stored(doc, "quantityKg", p.getQuantityKg());
+        stored(doc, "price", p.getPrice());
+        stored(doc, "harvestDate", p.getHarvestDate() != null ? p.getHarvestDate().toString() : null);
+        stored(doc, "imageUrl", p.getImageUrl());
+        stored(doc, "category", p.getCategory());
+        stored(doc, "unit", p.getUnit());
+        stored(doc, "aiVerdict", p.getAiVerdict());
+        stored(doc, "latitude", p.getLatitude());
+        stored(doc, "longitude", p.getLongitude());
+        return facetsConfig.build(doc);
+    }
+
+    private static void keyword(Document doc, StringBuilder text, String field, String value) {
+        if (value == null || value.isBlank()) {
+            return;
+        }
+        doc.add(new StringField(field, value, Field.Store.YES));
+        doc.add(new SortedSetDocValuesFacetField(field, value));
+        text.append(value).append(' ');
+    }
+
+    private static void stored(Document doc, String field, Object value) {
+        if (value instanceof Double d) {
+            doc.add(new StoredField(field, d));
+        } else if (value != null) {
+            doc.add(new StoredField(field, value.toString()));
+        }
+    }
+
+    private static ProductSummary fromDocument(Document doc) {
+        String status = doc.get(STATUS);
+        String harvestDate = doc.get("harvestDate");
+        return ProductSummary.builder()
+                .id(Long.valueOf(doc.get(ID)))
+                .name(doc.get(NAME))
+                .cropType(doc.get(CROP_TYPE))
+                .quantityKg(number(doc, "quantityKg"))
+                .qualityGrade(doc.get(QUALITY_GRADE))
+                .harvestDate(harvestDate != null ? LocalDate.parse(harvestDate) : null)
+                .location(doc.get(LOCATION))
+                .imageUrl(doc.get("imageUrl"))
+                .category(doc.get("category"))
+                .price(number(doc, "price"))
+                .unit(doc.get("unit"))
+                .aiScore(number(doc, AI_SCORE))
+                .aiVerdict(doc.get("aiVerdict"))
+                .status(status != null ? Product.Status.valueOf(status) : null)
+                .latitude(number(doc, "latitude"))
+                .longitude(number(doc, "longitude"))
+                .build();
+    }
+
+    private static Double number(Document doc, String field) {
+        Number value = doc.getField(field) != null ? doc.getField(field).numericValue() : null;
+        return value != null ? value.doubleValue() : null;
+    }
+
+    private static final class FacetState {
+        final IndexReader reader;
+        final SortedSetDocValuesReaderState state;
+
+        FacetState(IndexReader reader, SortedSetDocValuesReaderState state) {
+            this.reader = reader;
+            this.state = state;
+        }
+    }
+}
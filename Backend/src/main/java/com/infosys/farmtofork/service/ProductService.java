@@ -1,49 +1,172 @@
 package com.infosys.farmtofork.service;
 
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
-import com.infosys.farmtofork.dto.AiScoreResult;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import com.infosys.farmtofork.config.CacheConfig;
+import com.infosys.farmtofork.dto.CursorPage;
+import com.infosys.farmtofork.dto.NearbyProduct;
+import com.infosys.farmtofork.dto.ProductFilter;
+import com.infosys.farmtofork.dto.ProductSummary;
+import com.infosys.farmtofork.event.ProductCreatedEvent;
+import com.infosys.farmtofork.event.ProductScoredEvent;
 import com.infosys.farmtofork.model.Product;
 import com.infosys.farmtofork.repository.ProductRepository;
 
 @Service
 public class ProductService {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final double MAX_NEARBY_RADIUS_KM = 1000;
+
     private final ProductRepository productRepository;
-    private final AiScoreService aiScoreService;
+    private final ImageBlobStore imageBlobStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductGeoIndex geoIndex;
+    private final ServiceMetrics serviceMetrics;
 
-    public ProductService(ProductRepository productRepository, AiScoreService aiScoreService) {
+    public ProductService(ProductRepository productRepository, ImageBlobStore imageBlobStore,
+                          ApplicationEventPublisher eventPublisher, ProductGeoIndex geoIndex,
+                          ServiceMetrics serviceMetrics) {
         this.productRepository = productRepository;
-        this.aiScoreService = aiScoreService;
+        this.imageBlobStore = imageBlobStore;
+        this.eventPublisher = eventPublisher;
+        this.geoIndex = geoIndex;
+        this.serviceMetrics = serviceMetrics;
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCT_PAGES, sync = true)
+    public CursorPage<ProductSummary> getPage(ProductFilter filter, Long afterId, Integer limit) {
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // fetch one extra row to learn whether another page exists without a count query
+        List<ProductSummary> rows = productRepository.findSummaries(filter, afterId, size + 1);
+
+        Long nextCursor = null;
+        if (rows.size() > size) {
+            rows = rows.subList(0, size);
+            nextCursor = rows.get(size - 1).getId();
+        }
+        return CursorPage.<ProductSummary>builder()
+                .items(rows)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    public List<NearbyProduct> nearby(double lat, double lon, double radiusKm, String cropType, Integer limit) {
+        validateCoordinates(lat, lon);
+        if (!(radiusKm > 0) || radiusKm > MAX_NEARBY_RADIUS_KM) {
+            throw new RuntimeException("radiusKm must be between 0 and " + MAX_NEARBY_RADIUS_KM);
+        }
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<ProductGeoIndex.Hit> hits = geoIndex.nearby(lat, lon, radiusKm, cropType, size);
+
+        Map<Long, ProductSummary> summaries = productRepository
+                .findSummariesByIds(hits.stream().map(ProductGeoIndex.Hit::productId).toList())
+                .stream()
+                .collect(Collectors.toMap(ProductSummary::getId, Function.identity()));
+        List<NearbyProduct> result = new ArrayList<>(hits.size());
+        for (ProductGeoIndex.Hit hit : hits) {
+            ProductSummary summary = summaries.get(hit.productId());
+            if (summary != null) {
+                result.add(new NearbyProduct(summary, hit.distanceKm()));
+            }
+        }
+        return result;
     }
 
-    public List<Product> getAll() {
-        return productRepository.findAll();
+    public Optional<Instant> getUpdatedAt(Long id) {
+        return productRepository.findUpdatedAtById(id);
     }
 
     public Product get(Long id) {
         return productRepository.findById(id).orElse(null);
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
     public Product create(Product p) {
+        serviceMetrics.timeTransaction("products.create");
+        if (p.getLatitude() != null || p.getLongitude() != null) {
+            if (p.getLatitude() == null || p.getLongitude() == null) {
+                throw new RuntimeException("Both latitude and longitude are required");
+            }
+            validateCoordinates(p.getLatitude(), p.getLongitude());
+        }
         // If frontend already provided an AI score (from QualityScore mapping),
-        // keep that value and don't override it with the image-based model.
-        if (p.getAiScore() == null) {
-            aiScoreService.scoreImage(p.getImageUrl())
-                .ifPresent(result -> applyScore(p, result));
-        } else {
+        // keep that value; otherwise the product stays PENDING until AiScoringPipeline scores it.
+        if (p.getAiScore() != null && p.getAiVerdict() == null) {
             // Derive a simple verdict from the provided score if none is set
-            if (p.getAiVerdict() == null) {
-                double score = p.getAiScore();
-                String verdict = score >= 80 ? "Good Quality" : "Average Quality";
-                p.setAiVerdict(verdict);
-            }
+            double score = p.getAiScore();
+            String verdict = score >= 80 ? "Good Quality" : "Average Quality";
+            p.setAiVerdict(verdict);
         }
 
-        return productRepository.save(p);
+        boolean inlineImage = ImageBlobStore.isDataUrl(p.getImageUrl());
+        if (inlineImage) {
+            storeImage(p);
+        }
+
+        Product saved = productRepository.save(p);
+        if (inlineImage) {
+            // the streaming URL needs the generated id
+            saved.setImageUrl(imageUrlFor(saved.getId()));
+        }
+        eventPublisher.publishEvent(new ProductCreatedEvent(saved));
+        return saved;
+    }
+
+    /**
+     * Moves a legacy inline data URL into the blob store. Returns false if nothing to migrate.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    public boolean migrateInlineImage(Long id) {
+        Product product = productRepository.findById(id).orElse(null);
+        if (product == null || !ImageBlobStore.isDataUrl(product.getImageUrl())) {
+            return false;
+        }
+        storeImage(product);
+        product.setImageUrl(imageUrlFor(product.getId()));
+        return true;
+    }
+
+    /**
+     * Stores a background AI score unless the product already has one. Returns false if it did.
+     */
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCT_PAGES, allEntries = true)
+    public boolean applyAiScore(Long id, Double score, String verdict) {
+        if (productRepository.updateAiScore(id, score, verdict) == 0) {
+            return false;
+        }
+        // also for an unscorable verdict without a score: inventory responses and the search index show it
+        eventPublisher.publishEvent(new ProductScoredEvent(id, productRepository.findCropTypeById(id), score));
+        return true;
+    }
+
+    public static String imageUrlFor(Long productId) {
+        return "/api/products/" + productId + "/image";
+    }
+
+    private static void validateCoordinates(double lat, double lon) {
+        if (lat < -90 || lat > 90 || lon < -180 || lon > 180) {
+            throw new RuntimeException("Invalid coordinates: " + lat + ", " + lon);
+        }
     }
 
-    private void applyScore(Product product, AiScoreResult result) {
-        product.setAiScore(result.getAiScore());
-        product.setAiVerdict(result.getQualityLabel());
+    private void storeImage(Product product) {
+        ImageBlobStore.StoredImage stored = imageBlobStore.storeDataUrl(product.getImageUrl());
+        product.setImageRef(stored.getHash());
+        product.setImageContentType(stored.getContentType());
+        product.setImageUrl(null);
     }
 }
@@ -0,0 +1,73 @@
+package com.infosys.farmtofork.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version counters behind the ETags of the polled list endpoints. A resource is a service cache
+ * (CacheConfig) and a key within it; every eviction of that key, or a clear of the whole cache,
+ * moves its version forward. Evictions run after the writing transaction commits, so a tag read
+ * before loading never describes data newer than what is then served with it. The process start
+ * time is part of every tag, so a restart never repeats an old one.
+ * <p>
+ * Versions come from one sequence, so a key's version only grows. The per-key map is bounded; a key
+ * dropped from it falls back to the highest version ever dropped, which is at least its own.
+ */
+@Service
+public class ResourceVersions {
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Map<String, AtomicLong> cleared = new ConcurrentHashMap<>();
+    private final Cache<Key, Long> versions;
+
+    public ResourceVersions(@Value("${app.cache.versions.max-entries:100000}") long maxEntries) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                // evict on the writing thread, so the map stays at its bound
+                .executor(Runnable::run)
+                // runs before the entry disappears, so a lookup that misses already sees the raised floor
+                .evictionListener((Key key, Long version, RemovalCause cause) ->
+                        dropped.accumulateAndGet(version, Math::max))
+                .build();
+    }
+
+    /**
+     * Strong ETag (quoted) for one key of a resource; read it before loading the data it describes.
+     */
+    public String etag(String resource, Object key) {
+        return "\"" + epoch + "-" + version(resource, key) + "\"";
+    }
+
+    // for caches that are only ever cleared as a whole
+    public String etag(String resource) {
+        return "\"" + epoch + "-" + clearedAt(resource).get() + "\"";
+    }
+
+    public long version(String resource, Object key) {
+        Long version = versions.getIfPresent(new Key(resource, key));
+        return Math.max(version != null ? version : dropped.get(), clearedAt(resource).get());
+    }
+
+    public void bump(String resource, Object key) {
+        versions.put(new Key(resource, key), sequence.incrementAndGet());
+    }
+
+    public void bumpAll(String resource) {
+        clearedAt(resource).set(sequence.incrementAndGet());
+    }
+
+    private AtomicLong clearedAt(String resource) {
+        return cleared.computeIfAbsent(resource, r -> new AtomicLong());
+    }
+
+    private record Key(String resource, Object key) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.infosys.farmtofork.service;
+
+import com.infosys.farmtofork.config.SqlProfiler;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Measures a transactional service call through to its commit or rollback, so the flush at commit
+ * is part of both the latency and the statement count. Histograms for these meters are switched on
+ * by the management.metrics.distribution properties.
+ */
+@Component
+public class ServiceMetrics {
+    private final MeterRegistry meterRegistry;
+
+    public ServiceMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Starts timing the current transaction. On completion records {@code <name>} as a timer and
+     * {@code <name>.statements} as the SQL statements it ran, both tagged with the outcome.
+     * Does nothing outside a transaction.
+     */
+    public void timeTransaction(String name, String... tags) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long statementsBefore = SqlProfiler.executions();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                Tags outcome = Tags.of(tags).and("outcome", status == STATUS_COMMITTED ? "committed" : "rolled_back");
+                sample.stop(Timer.builder(name).tags(outcome).register(meterRegistry));
+                DistributionSummary.builder(name + ".statements")
+                        .tags(outcome)
+                        .register(meterRegistry)
+                        .record(SqlProfiler.executions() - statementsBefore);
+            }
+        });
+    }
+}
@@ -0,0 +1,148 @@
+package com.infosys.farmtofork.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.infosys.farmtofork.dto.StockLevel;
+import com.infosys.farmtofork.model.Inventory;
+import com.infosys.farmtofork.model.StageAggregate;
+import com.infosys.farmtofork.model.StageTransition;
+import com.infosys.farmtofork.repository.InventoryRepository;
+import com.infosys.farmtofork.repository.StageAggregateRepository;
+import com.infosys.farmtofork.repository.StageTransitionRepository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Keeps the stage transition log and the per-stage quantity aggregates in step with inventory.
+ * Every write joins the caller's transaction, so the aggregates commit or roll back with the stock change.
+ */
+@Service
+public class StageAggregateService {
+    private final StageAggregateRepository aggregateRepository;
+    private final StageTransitionRepository transitionRepository;
+    private final InventoryRepository inventoryRepository;
+
+    public StageAggregateService(StageAggregateRepository aggregateRepository,
+                                 StageTransitionRepository transitionRepository,
+                                 InventoryRepository inventoryRepository) {
+        this.aggregateRepository = aggregateRepository;
+        this.transitionRepository = transitionRepository;
+        this.inventoryRepository = inventoryRepository;
+    }
+
+    public static StockLevel slotOf(Inventory inventory) {
+        return StockLevel.builder()
+                .inventoryId(inventory.getId())
+                .productId(inventory.getProduct() != null ? inventory.getProduct().getId() : null)
+                .quantity(inventory.getQuantity())
+                .stage(inventory.getStage())
+                .cropType(inventory.getProduct() != null ? inventory.getProduct().getCropType() : null)
+                .ownerId(inventory.getOwner() != null ? inventory.getOwner().getId() : null)
+                .build();
+    }
+
+    /**
+     * Moves a row's contribution from {@code before} to {@code after}; either may be null for a
+     * created or deleted row. Logs a transition when the stage changed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordChange(StockLevel before, StockLevel after) {
+        SortedMap<StageAggregate.Key, Long> deltas = new TreeMap<>();
+        if (before != null) {
+            addBuckets(deltas, before, -quantityOf(before));
+        }
+        if (after != null) {
+            addBuckets(deltas, after, quantityOf(after));
+        }
+        apply(deltas);
+
+        if (after != null && after.getStage() != null && (before == null || before.getStage() != after.getStage())) {
+            transitionRepository.save(StageTransition.builder()
+                    .inventoryId(after.getInventoryId())
+                    .productId(after.getProductId())
+                    .ownerId(after.getOwnerId())
+                    .fromStage(before != null ? before.getStage() : null)
+                    .toStage(after.getStage())
+                    .quantity(after.getQuantity())
+                    .occurredAt(LocalDateTime.now())
+                    .build());
+        }
+    }
+
+    /**
+     * Applies quantity deltas of rows whose stage and ownership did not change (reservations, ledger flushes).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStockDeltas(Map<StockLevel, Long> deltas) {
+        SortedMap<StageAggregate.Key, Long> buckets = new TreeMap<>();
+        deltas.forEach((slot, delta) -> addBuckets(buckets, slot, delta));
+        apply(buckets);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordStockDeltasById(Map<Long, Long> deltas) {
+        Map<StockLevel, Long> bySlot = new LinkedHashMap<>();
+        for (StockLevel slot : inventoryRepository.findStockLevelsByIds(deltas.keySet())) {
+            bySlot.put(slot, deltas.get(slot.getInventoryId()));
+        }
+        recordStockDeltas(bySlot);
+    }
+
+    /**
+     * Quantity per stage code, in stage order; {@code dimensionKey} is ignored for {@link StageAggregate.Dimension#ALL}.
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> quantitiesByStage(StageAggregate.Dimension dimension, String dimensionKey) {
+        String key = dimension == StageAggregate.Dimension.ALL ? StageAggregate.ALL : dimensionKey;
+        Map<String, Long> byCode = new LinkedHashMap<>();
+        for (StageAggregate aggregate : aggregateRepository.findByDimensionAndDimensionKey(dimension, key)) {
+            byCode.put(aggregate.getStage(), aggregate.getQuantity());
+        }
+        Map<String, Long> ordered = new LinkedHashMap<>();
+        for (Inventory.Stage stage : Inventory.Stage.values()) {
+            Long quantity = byCode.get(stage.getCode());
+            if (quantity != null && quantity != 0) {
+                ordered.put(stage.getCode(), quantity);
+            }
+        }
+        return ordered;
+    }
+
+    @Transactional(readOnly = true)
+    public List<StageTransition> history(Long inventoryId) {
+        return transitionRepository.findByInventoryIdOrderByIdAsc(inventoryId);
+    }
+
+    // sorted keys: concurrent transactions lock aggregate rows in the same order
+    private void apply(SortedMap<StageAggregate.Key, Long> deltas) {
+        deltas.forEach((key, delta) -> {
+            if (delta != 0) {
+                aggregateRepository.addQuantity(key.getDimension().name(), key.getDimensionKey(), key.getStage(), delta);
+            }
+        });
+    }
+
+    private static void addBuckets(Map<StageAggregate.Key, Long> deltas, StockLevel slot, long delta) {
+        if (slot.getStage() == null || delta == 0) {
+            return;
+        }
+        String stage = slot.getStage().getCode();
+        deltas.merge(new StageAggregate.Key(StageAggregate.Dimension.ALL, StageAggregate.ALL, stage), delta, Long::sum);
+        if (slot.getCropType() != null) {
+            deltas.merge(new StageAggregate.Key(StageAggregate.Dimension.CROP_TYPE, slot.getCropType(), stage), delta, Long::sum);
+        }
+        if (slot.getOwnerId() != null) {
+            deltas.merge(new StageAggregate.Key(StageAggregate.Dimension.OWNER, slot.getOwnerId().toString(), stage), delta, Long::sum);
+        }
+    }
+
+    private static long quantityOf(StockLevel slot) {
+        return slot.getQuantity() != null ? slot.getQuantity() : 0;
+    }
+}
@@ -0,0 +1,268 @@
+package com.infosys.farmtofork.service;
+
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import com.infosys.farmtofork.dto.StatTotal;
+import com.infosys.farmtofork.dto.StatsResponse;
+import com.infosys.farmtofork.event.OrderDeletedEvent;
+import com.infosys.farmtofork.event.OrderPlacedEvent;
+import com.infosys.farmtofork.event.OrderStatusChangedEvent;
+import com.infosys.farmtofork.event.ProductCreatedEvent;
+import com.infosys.farmtofork.event.ProductScoredEvent;
+import com.infosys.farmtofork.model.DashboardStat;
+import com.infosys.farmtofork.model.DashboardStat.Metric;
+import com.infosys.farmtofork.model.Order;
+import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.model.StageAggregate;
+import com.infosys.farmtofork.repository.DashboardStatRepository;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Dashboard statistics kept up to date from domain events instead of being recomputed per request.
+ * The listeners run synchronously inside the publishing transaction, so the counters commit or
+ * roll back together with the change they describe.
+ */
+@Service
+public class StatsService {
+    private static final Logger log = LoggerFactory.getLogger(StatsService.class);
+    private static final String CANCELLED = "CANCELLED";
+
+    private final DashboardStatRepository statRepository;
+    private final StageAggregateService stageAggregateService;
+    private final EntityManager entityManager;
+    private final int slots;
+
+    public StatsService(DashboardStatRepository statRepository,
+                        StageAggregateService stageAggregateService,
+                        EntityManager entityManager,
+                        @Value("${app.stats.slots:8}") int slots) {
+        this.statRepository = statRepository;
+        this.stageAggregateService = stageAggregateService;
+        this.entityManager = entityManager;
+        this.slots = Math.max(1, slots);
+    }
+
+    @EventListener
+    public void onProductCreated(ProductCreatedEvent event) {
+        Product product = event.getProduct();
+        SortedMap<DashboardStat.Key, double[]> changes = new TreeMap<>();
+        if (product.getStatus() != null) {
+            change(changes, Metric.PRODUCT_STATUS, product.getStatus().name(), 1, 0);
+        }
+        if (product.getAiScore() != null && product.getCropType() != null) {
+            change(changes, Metric.CROP_AI_SCORE, product.getCropType(), 1, product.getAiScore());
+        }
+        apply(changes);
+    }
+
+    @EventListener
+    public void onProductScored(ProductScoredEvent event) {
+        if (event.getCropType() == null || event.getAiScore() == null) {
+            return;
+        }
+        SortedMap<DashboardStat.Key, double[]> changes = new TreeMap<>();
+        change(changes, Metric.CROP_AI_SCORE, event.getCropType(), 1, event.getAiScore());
+        apply(changes);
+    }
+
+    @EventListener
+    public void onOrderPlaced(OrderPlacedEvent event) {
+        Order order = event.getOrder();
+        SortedMap<DashboardStat.Key, double[]> changes = new TreeMap<>();
+        if (order.getStatus() != null) {
+            change(changes, Metric.ORDER_STATUS, order.getStatus(), 1, 0);
+        }
+        if (order.getCreatedAt() != null && countsAsRevenue(order.getStatus())) {
+            change(changes, Metric.REVENUE_DAY, dayOf(order.getCreatedAt()), 1, amountOf(order));
+        }
+        apply(changes);
+    }
+
+    @EventListener
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        Order order = event.getOrder();
+        String previous = event.getPreviousStatus();
+        if (Objects.equals(previous, order.getStatus())) {
+            return;
+        }
+        SortedMap<DashboardStat.Key, double[]> changes = new TreeMap<>();
+        if (previous != null) {
+            change(changes, Metric.ORDER_STATUS, previous, -1, 0);
+        }
+        if (order.getStatus() != null) {
+            change(changes, Metric.ORDER_STATUS, order.getStatus(), 1, 0);
+        }
+        boolean before = countsAsRevenue(previous);
+        boolean after = countsAsRevenue(order.getStatus());
+        if (before != after && order.getCreatedAt() != null) {
+            int sign = after ? 1 : -1;
+            change(changes, Metric.REVENUE_DAY, dayOf(order.getCreatedAt()), sign, sign * amountOf(order));
+        }
+        apply(changes);
+    }
+
+    @EventListener
+    public void onOrderDeleted(OrderDeletedEvent event) {
+        Order order = event.getOrder();
+        SortedMap<DashboardStat.Key, double[]> changes = new TreeMap<>();
+        if (order.getStatus() != null) {
+            change(changes, Metric.ORDER_STATUS, order.getStatus(), -1, 0);
+        }
+        if (order.getCreatedAt() != null && countsAsRevenue(order.getStatus())) {
+            change(changes, Metric.REVENUE_DAY, dayOf(order.getCreatedAt()), -1, -amountOf(order));
+        }
+        apply(changes);
+    }
+
+    /**
+     * Current statistics; revenue is limited to the last {@code days} days.
+     */
+    @Transactional(readOnly = true)
+    public StatsResponse getStats(int days) {
+        Map<String, Long> productsByStatus = new LinkedHashMap<>();
+        Map<String, Double> averageAiScore = new TreeMap<>();
+        Map<String, Double> revenueByDay = new TreeMap<>();
+        Map<String, Long> ordersByStatus = new TreeMap<>();
+        String firstDay = LocalDate.now().minusDays(Math.max(days, 1) - 1L).toString();
+
+        Map<String, Long> statusCounts = new HashMap<>();
+        for (StatTotal total : statRepository.findTotals()) {
+            switch (total.getMetric()) {
+                case PRODUCT_STATUS -> statusCounts.put(total.getMetricKey(), total.getCount());
+                case CROP_AI_SCORE -> {
+                    if (total.getCount() > 0) {
+                        averageAiScore.put(total.getMetricKey(), total.getTotal() / total.getCount());
+                    }
+                }
+                case ORDER_STATUS -> {
+                    if (total.getCount() != 0) {
+                        ordersByStatus.put(total.getMetricKey(), total.getCount());
+                    }
+                }
+                case REVENUE_DAY -> {
+                    // ISO dates compare correctly as strings
+                    if (total.getMetricKey().compareTo(firstDay) >= 0 && total.getCount() != 0) {
+                        revenueByDay.put(total.getMetricKey(), total.getTotal());
+                    }
+                }
+            }
+        }
+        for (Product.Status status : Product.Status.values()) {
+            productsByStatus.put(status.name(), statusCounts.getOrDefault(status.name(), 0L));
+        }
+
+        return StatsResponse.builder()
+                .productsByStatus(productsByStatus)
+                .averageAiScoreByCropType(averageAiScore)
+                .revenueByDay(revenueByDay)
+                .ordersByStatus(ordersByStatus)
+                .inventoryByStage(stageAggregateService.quantitiesByStage(StageAggregate.Dimension.ALL, null))
+                .build();
+    }
+
+    public boolean isEmpty() {
+        return statRepository.count() == 0;
+    }
+
+    /**
+     * Recomputes every counter from the source tables and replaces the stored ones, logging any drift.
+     * Meant for deployment or repair; increments committed while it runs can be lost.
+     */
+    @Transactional
+    public int rebuild() {
+        Map<String, double[]> fresh = new TreeMap<>();
+        for (Object[] row : rows("select p.status, count(p) from Product p where p.status is not null group by p.status")) {
+            fresh.put(key(Metric.PRODUCT_STATUS, ((Product.Status) row[0]).name()), new double[] {((Number) row[1]).doubleValue(), 0});
+        }
+        for (Object[] row : rows("select p.cropType, count(p), sum(p.aiScore) from Product p "
+                + "where p.aiScore is not null and p.cropType is not null group by p.cropType")) {
+            fresh.put(key(Metric.CROP_AI_SCORE, (String) row[0]), new double[] {((Number) row[1]).doubleValue(), ((Number) row[2]).doubleValue()});
+        }
+        for (Object[] row : rows("select o.status, count(o) from Order o where o.status is not null group by o.status")) {
+            fresh.put(key(Metric.ORDER_STATUS, (String) row[0]), new double[] {((Number) row[1]).doubleValue(), 0});
+        }
+        for (Object[] row : rows("select cast(o.createdAt as LocalDate), count(o), sum(coalesce(o.totalAmount, 0)) from Order o "
+                + "where o.createdAt is not null and (o.status is null or upper(o.status) <> 'CANCELLED') "
+                + "group by cast(o.createdAt as LocalDate)")) {
+            fresh.put(key(Metric.REVENUE_DAY, row[0].toString()), new double[] {((Number) row[1]).doubleValue(), ((Number) row[2]).doubleValue()});
+        }
+
+        int drifted = 0;
+        Map<String, double[]> stored = new HashMap<>();
+        for (StatTotal total : statRepository.findTotals()) {
+            stored.put(key(total.getMetric(), total.getMetricKey()), new double[] {total.getCount(), total.getTotal()});
+        }
+        Set<String> keys = new TreeSet<>(fresh.keySet());
+        keys.addAll(stored.keySet());
+        // a first build into an empty table is not drift
+        for (String k : stored.isEmpty() ? Set.<String>of() : keys) {
+            double[] a = fresh.getOrDefault(k, new double[2]);
+            double[] b = stored.getOrDefault(k, new double[2]);
+            if (a[0] != b[0] || Math.abs(a[1] - b[1]) > 1e-6) {
+                drifted++;
+                log.warn("Dashboard stat {} drifted: stored count={} total={}, actual count={} total={}", k, b[0], b[1], a[0], a[1]);
+            }
+        }
+
+        statRepository.deleteAllInBatch();
+        List<DashboardStat> rebuilt = new ArrayList<>(fresh.size());
+        fresh.forEach((k, v) -> {
+            int sep = k.indexOf('|');
+            rebuilt.add(new DashboardStat(Metric.valueOf(k.substring(0, sep)), k.substring(sep + 1), 0, (long) v[0], v[1]));
+        });
+        statRepository.saveAll(rebuilt);
+        return drifted;
+    }
+
+    private List<Object[]> rows(String jpql) {
+        return entityManager.createQuery(jpql, Object[].class).getResultList();
+    }
+
+    // keys in (metric, key, slot) order so concurrent transactions lock counter rows in one order
+    private void change(SortedMap<DashboardStat.Key, double[]> changes, Metric metric, String key, long count, double total) {
+        int slot = ThreadLocalRandom.current().nextInt(slots);
+        double[] delta = changes.computeIfAbsent(new DashboardStat.Key(metric, key, slot), k -> new double[2]);
+        delta[0] += count;
+        delta[1] += total;
+    }
+
+    private void apply(SortedMap<DashboardStat.Key, double[]> changes) {
+        changes.forEach((k, delta) ->
+                statRepository.add(k.getMetric().name(), k.getMetricKey(), k.getSlot(), (long) delta[0], delta[1]));
+    }
+
+    private static boolean countsAsRevenue(String status) {
+        return !CANCELLED.equalsIgnoreCase(status);
+    }
+
+    private static double amountOf(Order order) {
+        return order.getTotalAmount() != null ? order.getTotalAmount() : 0;
+    }
+
+    // same zone as the rebuild's cast(createdAt as LocalDate) on a DATETIME column
+    private static String dayOf(Date createdAt) {
+        return LocalDate.ofInstant(createdAt.toInstant(), ZoneId.systemDefault()).toString();
+    }
+
+    private static String key(Metric metric, String key) {
+        return metric.name() + "|" + key;
+    }
+}
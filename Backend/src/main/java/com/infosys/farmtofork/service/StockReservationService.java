@@ -0,0 +1,123 @@
+package com.infosys.farmtofork.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import com.infosys.farmtofork.dto.StockLevel;
+import com.infosys.farmtofork.event.StockReservedEvent;
+import com.infosys.farmtofork.model.Inventory;
+import com.infosys.farmtofork.repository.InventoryRepository;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Takes stock out of inventory rows with conditional updates, so concurrent orders can never
+ * drive a row below zero. Runs inside the caller's transaction: if any line cannot be filled,
+ * the whole order rolls back together with the decrements already made.
+ */
+@Service
+public class StockReservationService {
+    private final InventoryRepository inventoryRepository;
+    private final InventoryLedger inventoryLedger;
+    private final StageAggregateService stageAggregateService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxAttempts;
+    private final Counter conflicts;
+    private final Counter insufficient;
+
+    public StockReservationService(InventoryRepository inventoryRepository,
+                                   InventoryLedger inventoryLedger,
+                                   StageAggregateService stageAggregateService,
+                                   ApplicationEventPublisher eventPublisher,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${inventory.reservation.max-attempts:3}") int maxAttempts) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryLedger = inventoryLedger;
+        this.stageAggregateService = stageAggregateService;
+        this.eventPublisher = eventPublisher;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.conflicts = meterRegistry.counter("inventory.reservation.conflicts");
+        this.insufficient = meterRegistry.counter("inventory.reservation.insufficient");
+    }
+
+    /**
+     * Reserves the requested quantity per product id. A product can be spread over several
+     * inventory rows (one per owner); rows are drained in id order. Products without any
+     * inventory rows are not stock-tracked and are skipped.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void reserve(Map<Long, Long> quantitiesByProduct) {
+        if (quantitiesByProduct.isEmpty()) {
+            return;
+        }
+
+        // every order walks products, and each product's rows, in ascending id order,
+        // so two multi-item orders never wait on each other's locks in opposite directions
+        SortedMap<Long, Long> demand = new TreeMap<>(quantitiesByProduct);
+        if (inventoryLedger.isEnabled()) {
+            inventoryLedger.reserve(demand);
+            eventPublisher.publishEvent(new StockReservedEvent(demand.keySet()));
+            return;
+        }
+        Map<Long, List<StockLevel>> rowsByProduct = inventoryRepository.findStockLevels(demand.keySet()).stream()
+                .collect(Collectors.groupingBy(StockLevel::getProductId));
+
+        Map<StockLevel, Long> taken = new LinkedHashMap<>();
+        for (Map.Entry<Long, Long> entry : demand.entrySet()) {
+            List<StockLevel> rows = rowsByProduct.get(entry.getKey());
+            if (rows == null) {
+                continue;
+            }
+
+            long remaining = entry.getValue();
+            for (StockLevel row : rows) {
+                if (remaining == 0) {
+                    break;
+                }
+                remaining -= take(row, remaining, taken);
+            }
+            if (remaining > 0) {
+                insufficient.increment();
+                throw new RuntimeException("Insufficient stock for product: " + entry.getKey());
+            }
+        }
+        stageAggregateService.recordStockDeltas(taken);
+        eventPublisher.publishEvent(new StockReservedEvent(demand.keySet()));
+    }
+
+    private long take(StockLevel row, long wanted, Map<StockLevel, Long> taken) {
+        StockLevel current = row;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            long available = current.getQuantity() == null ? 0 : current.getQuantity();
+            if (available <= 0) {
+                return 0;
+            }
+            long amount = Math.min(available, wanted);
+            if (inventoryRepository.decrementIfUnchanged(current.getInventoryId(), current.getVersion(), amount) == 1) {
+                taken.put(current, -amount);
+                return amount;
+            }
+            // another writer got there first; retry against the committed row, now locked by us
+            conflicts.increment();
+            InventoryRepository.LockedRow locked = inventoryRepository.lockRow(row.getInventoryId());
+            if (locked == null || !row.getProductId().equals(locked.getProductId())) {
+                return 0;
+            }
+            current = row.toBuilder()
+                    .quantity(locked.getQuantity())
+                    .version(locked.getVersion())
+                    .stage(locked.getStage() != null ? Inventory.Stage.fromCode(locked.getStage()) : null)
+                    .ownerId(locked.getOwnerId())
+                    .build();
+        }
+        return 0;
+    }
+}
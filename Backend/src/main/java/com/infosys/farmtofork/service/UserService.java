@@ -1,24 +1,51 @@
 package com.infosys.farmtofork.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import com.infosys.farmtofork.model.User;
 import com.infosys.farmtofork.repository.UserRepository;
+import com.infosys.farmtofork.security.JwtService;
+import com.infosys.farmtofork.security.PasswordHasher;
 import com.infosys.farmtofork.dto.LoginRequest;
 import com.infosys.farmtofork.dto.LoginResponse;
 
 import java.util.List;
-import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class UserService {
+    private static final Logger log = LoggerFactory.getLogger(UserService.class);
+
     private final UserRepository userRepository;
+    private final JwtService jwtService;
+    private final PasswordHasher passwordHasher;
+    // database work after a hash completes, so hashing threads never wait on a connection
+    private final Executor taskExecutor;
 
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, JwtService jwtService, PasswordHasher passwordHasher,
+                       @Qualifier("applicationTaskExecutor") Executor taskExecutor) {
         this.userRepository = userRepository;
+        this.jwtService = jwtService;
+        this.passwordHasher = passwordHasher;
+        this.taskExecutor = taskExecutor;
     }
 
-    public User create(User u) {
-        return userRepository.save(u);
+    public CompletableFuture<User> create(User u) {
+        if (u.getPassword() == null || u.getPassword().isEmpty()) {
+            throw new RuntimeException("Password is required");
+        }
+        if ("ADMIN".equalsIgnoreCase(u.getRole())) {
+            throw new RuntimeException("Admin accounts cannot be self-registered");
+        }
+        // always an insert: an id in the request body must not turn registration into an overwrite
+        u.setId(null);
+        return passwordHasher.hash(u.getPassword()).thenApplyAsync(hash -> {
+            u.setPassword(hash);
+            return userRepository.save(u);
+        }, taskExecutor);
     }
 
     public User findByEmail(String email) {
@@ -29,46 +56,59 @@ public class UserService {
         return userRepository.findAll(); 
     }
 
-    public LoginResponse login(LoginRequest request) {
-        Optional<User> user = Optional.ofNullable(findByEmail(request.getEmail()));
-        
-        if (user.isEmpty()) {
-            return LoginResponse.builder()
+    /**
+     * The lookup runs on the calling thread; the password check and everything after it run on the
+     * hashing pool, so the request thread is released while BCrypt works.
+     */
+    public CompletableFuture<LoginResponse> login(LoginRequest request) {
+        User foundUser = findByEmail(request.getEmail());
+
+        if (foundUser == null) {
+            return CompletableFuture.completedFuture(LoginResponse.builder()
                     .message("User not found")
-                    .build();
+                    .build());
         }
 
-        User foundUser = user.get();
-        
-        // Simple password check (in production, use BCrypt)
-        if (!foundUser.getPassword().equals(request.getPassword())) {
-            return LoginResponse.builder()
-                    .message("Invalid password")
-                    .build();
-        }
+        return passwordHasher.matches(request.getPassword(), foundUser.getPassword()).thenApply(matches -> {
+            if (!matches) {
+                return LoginResponse.builder()
+                        .message("Invalid password")
+                        .build();
+            }
+
+            // Verify role matches
+            if (!foundUser.getRole().equalsIgnoreCase(request.getRole())) {
+                return LoginResponse.builder()
+                        .message("Role mismatch")
+                        .build();
+            }
+
+            if (passwordHasher.needsRehash(foundUser.getPassword())) {
+                upgradePassword(foundUser, request.getPassword());
+            }
 
-        // Verify role matches
-        if (!foundUser.getRole().equalsIgnoreCase(request.getRole())) {
+            // Login successful
             return LoginResponse.builder()
-                    .message("Role mismatch")
+                    .id(foundUser.getId())
+                    .name(foundUser.getName())
+                    .email(foundUser.getEmail())
+                    .role(foundUser.getRole())
+                    .token("Bearer " + jwtService.issue(foundUser))
+                    .message("Login successful")
                     .build();
-        }
-
-        // Login successful
-        return LoginResponse.builder()
-                .id(foundUser.getId())
-                .name(foundUser.getName())
-                .email(foundUser.getEmail())
-                .role(foundUser.getRole())
-                .token("Bearer " + generateToken(foundUser))
-                .message("Login successful")
-                .build();
+        });
     }
 
-    private String generateToken(User user) {
-        // Simple token generation (in production, use JWT)
-        return java.util.Base64.getEncoder()
-                .encodeToString((user.getId() + ":" + user.getEmail() + ":" + System.currentTimeMillis()).getBytes());
+    // re-hash a plaintext or weaker stored password; the login does not wait for it
+    private void upgradePassword(User user, String rawPassword) {
+        String previous = user.getPassword();
+        passwordHasher.hash(rawPassword).thenAcceptAsync(hash -> {
+            if (userRepository.updatePasswordIfUnchanged(user.getId(), previous, hash) == 0) {
+                log.debug("Password of user {} changed before its hash was upgraded", user.getId());
+            }
+        }, taskExecutor).exceptionally(e -> {
+            log.warn("Could not upgrade password hash for user {}: {}", user.getId(), e.getMessage());
+            return null;
+        });
     }
 }
-
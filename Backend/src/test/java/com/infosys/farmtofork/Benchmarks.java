@@ -0,0 +1,77 @@
+package com.infosys.farmtofork;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Minimal harness for the benchmark-tagged tests ({@code mvn test -Pbenchmark}): warms an operation
+ * up, then times each call and counts the bytes the calling thread allocated, the figures JMH
+ * reports with {@code -prof gc}. Results are logged so runs can be compared before and after a change.
+ */
+public final class Benchmarks {
+
+    public static final String TAG = "benchmark";
+
+    private static final Logger log = LoggerFactory.getLogger(Benchmarks.class);
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Benchmarks() {
+    }
+
+    public static Result run(String name, int warmups, int iterations, Operation operation) throws Exception {
+        for (int i = 0; i < warmups; i++) {
+            operation.run(i);
+        }
+        long[] nanos = new long[iterations];
+        long allocatedBefore = THREADS.getCurrentThreadAllocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            long opStart = System.nanoTime();
+            operation.run(i);
+            nanos[i] = System.nanoTime() - opStart;
+        }
+        long total = System.nanoTime() - start;
+        long allocated = THREADS.getCurrentThreadAllocatedBytes() - allocatedBefore;
+
+        Arrays.sort(nanos);
+        Result result = new Result(name, iterations, percentile(nanos, 0.50), percentile(nanos, 0.99),
+                total / iterations, allocated / iterations);
+        log.info("{}", result);
+        return result;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    @FunctionalInterface
+    public interface Operation {
+        void run(int iteration) throws Exception;
+    }
+
+    public record Result(String name, int iterations, long p50Nanos, long p99Nanos, long meanNanos, long bytesPerOp) {
+
+        public double opsPerSecond() {
+            return 1e9 / Math.max(1, meanNanos);
+        }
+
+        public double p50Micros() {
+            return p50Nanos / 1e3;
+        }
+
+        public double p99Micros() {
+            return p99Nanos / 1e3;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s: %d ops, p50 %.1f us, p99 %.1f us, %.0f ops/s, %d B/op",
+                    name, iterations, p50Micros(), p99Micros(), opsPerSecond(), bytesPerOp);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.infosys.farmtofork.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.infosys.farmtofork.service.ResourceVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A value loaded while its key was evicted must not be cached, and a key's ETag must change on every
+ * eviction and never go back, even after the key was dropped from the bounded version map.
+ */
+class VersionedCacheTest {
+
+    private ResourceVersions versions;
+    private Cache<Object, Object> nativeCache;
+    private VersionedCache cache;
+
+    @BeforeEach
+    void setUp() {
+        versions = new ResourceVersions(4);
+        nativeCache = Caffeine.newBuilder().build();
+        cache = new VersionedCache(new CaffeineCache("owners", nativeCache, false), nativeCache, versions);
+    }
+
+    @Test
+    void loadIsCachedWhenNothingChanged() {
+        AtomicInteger loads = new AtomicInteger();
+        assertThat(cache.get(1L, () -> "rows-" + loads.incrementAndGet())).isEqualTo("rows-1");
+        assertThat(cache.get(1L, () -> "rows-" + loads.incrementAndGet())).isEqualTo("rows-1");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void loadThatRacedAnEvictionIsNotCached() {
+        // the write commits and evicts while the read is still loading the old rows
+        assertThat(cache.get(1L, () -> {
+            cache.evict(1L);
+            return "old rows";
+        })).isEqualTo("old rows");
+        assertThat(nativeCache.getIfPresent(1L)).isNull();
+        assertThat(cache.get(1L, () -> "new rows")).isEqualTo("new rows");
+    }
+
+    @Test
+    void loadThatRacedAClearIsNotCached() {
+        cache.get("page", () -> {
+            cache.clear();
+            return "old page";
+        });
+        assertThat(nativeCache.getIfPresent("page")).isNull();
+    }
+
+    @Test
+    void evictionChangesOnlyThatKeysTag() {
+        String first = versions.etag("owners", 1L);
+        String other = versions.etag("owners", 2L);
+        cache.evict(1L);
+        assertThat(versions.etag("owners", 1L)).isNotEqualTo(first);
+        assertThat(versions.etag("owners", 2L)).isEqualTo(other);
+    }
+
+    @Test
+    void droppedKeysNeverGoBackToAnOlderVersion() {
+        cache.evict(1L);
+        long bumped = versions.version("owners", 1L);
+        // push key 1 out of the four-entry version map
+        for (long key = 2; key < 20; key++) {
+            cache.evict(key);
+        }
+        assertThat(versions.version("owners", 1L)).isGreaterThanOrEqualTo(bumped);
+        long before = versions.version("owners", 1L);
+        cache.evict(1L);
+        assertThat(versions.version("owners", 1L)).isGreaterThan(before);
+    }
+}
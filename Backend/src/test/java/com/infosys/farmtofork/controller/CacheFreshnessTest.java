@@ -0,0 +1,268 @@
+package com.infosys.farmtofork.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infosys.farmtofork.config.CacheConfig;
+import com.infosys.farmtofork.config.SqlProfiler;
+import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.model.User;
+import com.infosys.farmtofork.repository.ProductRepository;
+import com.infosys.farmtofork.repository.UserRepository;
+import com.infosys.farmtofork.service.ProductService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cached reads must never serve data older than a committed write: each read is warmed into the
+ * cache first, then written through the API and read again. Clients revalidating with an ETag from
+ * before the write must get the new body, and a 304 only while nothing changed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CacheFreshnessTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    User farmer;
+    User retailer;
+    User customer;
+    Product product;
+    // a crop type of its own keeps the filtered catalog page clear of other tests' products
+    private String cropType;
+
+    @BeforeEach
+    void setUp() {
+        farmer = user("Farmer");
+        retailer = user("Retailer");
+        customer = user("Consumer");
+        cropType = "Fresh-" + UUID.randomUUID();
+        product = productRepository.save(Product.builder().name("Fresh Pear").cropType(cropType).build());
+    }
+
+    @Test
+    void ownerInventoryReflectsEveryWrite() throws Exception {
+        assertThat(read("/api/inventory/owner/" + farmer.getId())).isEmpty();
+        long inventoryId = send(post("/api/inventory"), inventoryJson(farmer, 10)).get("id").asLong();
+        assertThat(quantities(farmer)).containsExactly(10L);
+
+        assertThat(read("/api/inventory/owner/" + retailer.getId())).isEmpty();
+        send(put("/api/inventory/" + inventoryId), inventoryJson(retailer, 8));
+        assertThat(read("/api/inventory/owner/" + farmer.getId())).as("previous owner").isEmpty();
+        assertThat(quantities(retailer)).as("new owner").containsExactly(8L);
+
+        placeOrder(3);
+        assertThat(quantities(retailer)).as("after reservation").containsExactly(5L);
+
+        productService.applyAiScore(product.getId(), 55.0, "Good");
+        assertThat(read("/api/inventory/owner/" + retailer.getId()).get(0).at("/product/aiScore").asDouble())
+                .as("after scoring").isEqualTo(55.0);
+
+        mockMvc.perform(delete("/api/inventory/{id}", inventoryId)).andExpect(status().isNoContent());
+        assertThat(read("/api/inventory/owner/" + retailer.getId())).as("after delete").isEmpty();
+    }
+
+    @Test
+    void ownerInventoryShowsAVerdictWrittenWithoutAScore() throws Exception {
+        send(post("/api/inventory"), inventoryJson(farmer, 10));
+        String path = "/api/inventory/owner/" + farmer.getId();
+        String etag = mockMvc.perform(get(path)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        productService.applyAiScore(product.getId(), null, "Unscorable");
+        assertThat(read(path).get(0).at("/product/aiVerdict").asText()).isEqualTo("Unscorable");
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isOk());
+    }
+
+    @Test
+    void customerOrdersReflectEveryWrite() throws Exception {
+        send(post("/api/inventory"), inventoryJson(farmer, 10));
+        String path = "/api/orders/customer/" + customer.getId();
+        assertThat(read(path)).isEmpty();
+
+        long orderId = placeOrder(2);
+        assertThat(read(path)).hasSize(1);
+        assertThat(read(path).get(0).get("id").asLong()).isEqualTo(orderId);
+
+        send(put("/api/orders/" + orderId + "/status").param("status", "SHIPPED"), null);
+        assertThat(read(path).get(0).get("status").asText()).isEqualTo("SHIPPED");
+
+        mockMvc.perform(delete("/api/orders/{id}", orderId)).andExpect(status().isOk());
+        assertThat(read(path)).as("after delete").isEmpty();
+    }
+
+    @Test
+    void productPageReflectsCreatesAndScores() throws Exception {
+        String path = "/api/products?limit=100&cropType=" + cropType;
+        assertThat(read(path).get("items")).hasSize(1);
+
+        send(post("/api/products"), "{\"name\":\"Fresh Plum\",\"cropType\":\"" + cropType + "\"}");
+        assertThat(read(path).get("items")).as("after create").hasSize(2);
+
+        productService.applyAiScore(product.getId(), 42.0, "Fair");
+        JsonNode scored = null;
+        for (JsonNode item : read(path).get("items")) {
+            if (item.get("id").asLong() == product.getId()) {
+                scored = item;
+            }
+        }
+        assertThat(scored).isNotNull();
+        assertThat(scored.get("aiScore").asDouble()).as("after scoring").isEqualTo(42.0);
+    }
+
+    @Test
+    void etagsRevalidateUntilTheResourceChanges() throws Exception {
+        send(post("/api/inventory"), inventoryJson(farmer, 10));
+        revalidate("/api/products?cropType=" + cropType,
+                () -> productService.create(Product.builder().name("Fresh Fig").cropType(cropType).build()));
+        revalidate("/api/inventory/owner/" + farmer.getId(), () -> placeOrder(1));
+        revalidate("/api/orders/customer/" + customer.getId(), () -> placeOrder(1));
+        revalidate("/api/products/" + product.getId(), () -> productService.applyAiScore(product.getId(), 61.0, "Good"));
+    }
+
+    @Test
+    void revalidationIsAnsweredBeforeAnythingIsLoaded() throws Exception {
+        send(post("/api/inventory"), inventoryJson(farmer, 10));
+        placeOrder(1);
+        for (String path : List.of("/api/inventory/owner/" + farmer.getId(), "/api/orders/customer/" + customer.getId(),
+                "/api/products?cropType=" + cropType)) {
+            String etag = mockMvc.perform(get(path)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+            // as after expiry: nothing cached, so only a check ahead of the load avoids the queries
+            for (String name : List.of(CacheConfig.OWNER_INVENTORY, CacheConfig.CUSTOMER_ORDERS, CacheConfig.PRODUCT_PAGES)) {
+                ((com.github.benmanes.caffeine.cache.Cache<?, ?>) cacheManager.getCache(name).getNativeCache()).invalidateAll();
+            }
+            SqlProfiler.profile(() -> mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified()))
+                    .requireAtMost(0);
+        }
+    }
+
+    @Test
+    void concurrentReadsDoNotPinAStaleOwnerInventory() throws Exception {
+        String path = "/api/inventory/owner/" + farmer.getId();
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        List<Future<?>> reads = new ArrayList<>();
+        try {
+            for (int i = 0; i < 4; i++) {
+                reads.add(readers.submit(() -> {
+                    while (writing.get()) {
+                        read(path);
+                    }
+                    return null;
+                }));
+            }
+            for (int i = 1; i <= 30; i++) {
+                send(post("/api/inventory"), inventoryJson(farmer, i));
+                // a reader that loaded before the commit must not leave its result in the cache
+                assertThat(read(path)).as("rows after write %d", i).hasSize(i);
+            }
+        } finally {
+            writing.set(false);
+            readers.shutdown();
+            assertThat(readers.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        }
+        for (Future<?> reader : reads) {
+            reader.get();
+        }
+    }
+
+    private void revalidate(String path, ThrowingRunnable write) throws Exception {
+        String etag = mockMvc.perform(get(path)).andExpect(status().isOk()).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).as("ETag of %s", path).isNotBlank();
+        mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag)).andExpect(status().isNotModified());
+
+        write.run();
+
+        MvcResult changed = mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn();
+        assertThat(changed.getResponse().getContentAsString()).as("body of %s", path).isNotEmpty();
+        assertThat(changed.getResponse().getHeader(HttpHeaders.ETAG)).as("ETag of %s", path).isNotEqualTo(etag);
+    }
+
+    List<Long> quantities(User owner) throws Exception {
+        List<Long> quantities = new ArrayList<>();
+        read("/api/inventory/owner/" + owner.getId()).forEach(row -> quantities.add(row.get("quantity").asLong()));
+        return quantities;
+    }
+
+    long placeOrder(long quantity) throws Exception {
+        return send(post("/api/orders"), "{\"customerId\":" + customer.getId() + ",\"items\":[{\"productId\":"
+                + product.getId() + ",\"quantity\":" + quantity + ",\"price\":2.0}]}").get("id").asLong();
+    }
+
+    String inventoryJson(User owner, long quantity) {
+        return "{\"productId\":" + product.getId() + ",\"ownerId\":" + owner.getId() + ",\"quantity\":" + quantity + "}";
+    }
+
+    private JsonNode read(String path) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(path)).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+
+    JsonNode send(MockHttpServletRequestBuilder request, String json)
+            throws Exception {
+        if (json != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(json);
+        }
+        String body = mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+        return body.isEmpty() ? objectMapper.nullNode() : objectMapper.readTree(body);
+    }
+
+    private User user(String role) {
+        String name = role + " " + UUID.randomUUID();
+        return userRepository.save(User.builder()
+                .name(name)
+                .email(name.replace(' ', '-') + "@example.com")
+                .password("unused")
+                .role(role)
+                .build());
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
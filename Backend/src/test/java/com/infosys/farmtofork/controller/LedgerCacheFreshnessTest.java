@@ -0,0 +1,30 @@
+package com.infosys.farmtofork.controller;
+
+import com.infosys.farmtofork.config.SqlProfiler;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * The freshness checks with stock held in the in-memory ledger, where owner inventories take their
+ * quantities from the ledger on every read instead of being evicted by each order.
+ */
+@SpringBootTest(properties = "inventory.ledger.enabled=true")
+class LedgerCacheFreshnessTest extends CacheFreshnessTest {
+
+    @Test
+    void ownerQuantitiesAfterAnOrderComeFromTheLedger() throws Exception {
+        send(post("/api/inventory"), inventoryJson(farmer, 10));
+        assertThat(quantities(farmer)).containsExactly(10L);
+
+        placeOrder(4);
+        List<List<Long>> seen = new ArrayList<>();
+        SqlProfiler.profile(() -> seen.add(quantities(farmer))).requireAtMost(0);
+        assertThat(seen.get(0)).containsExactly(6L);
+    }
+}
@@ -0,0 +1,147 @@
+package com.infosys.farmtofork.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infosys.farmtofork.Benchmarks;
+import com.infosys.farmtofork.dto.ProductLocation;
+import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.service.ProductGeoIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * GET /api/products/nearby at 500k located products spread over the subcontinent. The grid index is
+ * also timed on its own against a single-cell index, which checks the distance of every product the
+ * way a lookup without the grid would.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=false")
+@ActiveProfiles("test")
+@Tag(Benchmarks.TAG)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class NearbyProductsBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(NearbyProductsBenchmark.class);
+
+    private static final int PRODUCTS = 500_000;
+    private static final int INSERT_BATCH = 10_000;
+    private static final String[] CROPS = {"Apple", "Tomato", "Potato", "Carrot", "Spinach", "Mango", "Banana", "Onion"};
+    // query points inside the seeded area
+    private static final double[][] POINTS = {{28.6, 77.2}, {19.1, 72.9}, {13.0, 77.6}, {22.6, 88.4}, {26.9, 75.8}};
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ProductGeoIndex geoIndex;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+    private final ProductGeoIndex scan = new ProductGeoIndex(null, new SimpleMeterRegistry(), 360);
+
+    @BeforeAll
+    void seed() {
+        Random random = new Random(1);
+        long start = System.nanoTime();
+        List<Object[]> rows = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < PRODUCTS; i++) {
+            double lat = 8 + random.nextDouble() * 27;
+            double lon = 68 + random.nextDouble() * 29;
+            rows.add(new Object[]{"Nearby Produce " + i, CROPS[random.nextInt(CROPS.length)], 100.0, "A",
+                    Date.valueOf(LocalDate.now()), "Farm " + i % 1000, Product.Status.APPROVED.name(), 2.5, "kg", lat, lon});
+            if (rows.size() == INSERT_BATCH) {
+                insert(rows);
+            }
+        }
+        insert(rows);
+        int indexed = geoIndex.rebuild();
+        log.info("seeded and indexed {} located products in {} ms", indexed, (System.nanoTime() - start) / 1_000_000);
+
+        jdbcTemplate.query("select id, latitude, longitude, crop_type from products where latitude is not null", rs -> {
+            scan.put(new ProductLocation(rs.getLong(1), rs.getDouble(2), rs.getDouble(3), rs.getString(4)));
+        });
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("insert into products (name, crop_type, quantity_kg, quality_grade, harvest_date, location, "
+                + "status, price, unit, latitude, longitude) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    @Test
+    void nearby() throws Exception {
+        assertThat(geoIndex.size()).isGreaterThanOrEqualTo(PRODUCTS);
+
+        for (double radiusKm : new double[]{10, 50, 200}) {
+            Benchmarks.Result grid = Benchmarks.run(radiusKm + " km, grid", 200, 2000, i -> {
+                double[] point = POINTS[i % POINTS.length];
+                geoIndex.nearby(point[0], point[1], radiusKm, null, 50);
+            });
+            Benchmarks.Result allPoints = Benchmarks.run(radiusKm + " km, every point checked", 5, 50, i -> {
+                double[] point = POINTS[i % POINTS.length];
+                scan.nearby(point[0], point[1], radiusKm, null, 50);
+            });
+            assertThat(grid.p50Nanos()).isLessThan(allPoints.p50Nanos());
+        }
+
+        for (double radiusKm : new double[]{10, 50, 200}) {
+            int[] results = new int[1];
+            Benchmarks.run("GET /nearby " + radiusKm + " km", 100, 1000, i -> {
+                double[] point = POINTS[i % POINTS.length];
+                results[0] = check(fetch(String.format(Locale.ROOT, "/api/products/nearby?lat=%s&lon=%s&radiusKm=%s",
+                        point[0], point[1], radiusKm)), radiusKm);
+            });
+            Benchmarks.run("GET /nearby " + radiusKm + " km, one crop", 100, 1000, i -> {
+                double[] point = POINTS[i % POINTS.length];
+                check(fetch(String.format(Locale.ROOT, "/api/products/nearby?lat=%s&lon=%s&radiusKm=%s&cropType=Mango",
+                        point[0], point[1], radiusKm)), radiusKm);
+            });
+            log.info("{} km: {} products in the last response", radiusKm, results[0]);
+        }
+    }
+
+    private int check(JsonNode body, double radiusKm) {
+        double previous = 0;
+        for (JsonNode hit : body) {
+            double distance = hit.get("distanceKm").asDouble();
+            assertThat(distance).isBetween(previous, radiusKm);
+            previous = distance;
+        }
+        return body.size();
+    }
+
+    private JsonNode fetch(String path) throws Exception {
+        HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return objectMapper.readTree(response.body());
+    }
+}
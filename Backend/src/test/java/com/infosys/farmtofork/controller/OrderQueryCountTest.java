@@ -0,0 +1,100 @@
+package com.infosys.farmtofork.controller;
+
+import com.infosys.farmtofork.config.SqlProfiler;
+import com.infosys.farmtofork.dto.OrderItemRequest;
+import com.infosys.farmtofork.dto.OrderRequest;
+import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.model.User;
+import com.infosys.farmtofork.repository.ProductRepository;
+import com.infosys.farmtofork.repository.UserRepository;
+import com.infosys.farmtofork.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Order reads must stay at a fixed number of statements however many orders and lines they return;
+ * a lazy association touched per row shows up here as an N+1.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OrderQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private User customer;
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        customer = userRepository.findByEmail("retailer@example.com");
+        // products of its own, without inventory rows, so stock other tests left behind cannot run out
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            products.add(productRepository.save(Product.builder().name("Query Product " + i).cropType("Grain").build()));
+        }
+        for (int i = 0; i < 20; i++) {
+            orderId = orderService.createOrder(new OrderRequest(customer.getId(), List.of(
+                    new OrderItemRequest(products.get(i % products.size()).getId(), 1L, 10.0),
+                    new OrderItemRequest(products.get((i + 1) % products.size()).getId(), 2L, 5.0),
+                    new OrderItemRequest(products.get((i + 2) % products.size()).getId(), 3L, 2.5)))).getId();
+        }
+    }
+
+    @Test
+    void listingAllOrdersTakesTwoStatements() throws Exception {
+        SqlProfiler.profile(() -> mockMvc.perform(get("/api/orders")).andExpect(status().isOk()))
+                .requireAtMost(2);
+    }
+
+    @Test
+    void pagingOrdersTakesTwoStatements() throws Exception {
+        SqlProfiler.profile(() -> mockMvc.perform(get("/api/orders/page").param("limit", "50"))
+                .andExpect(status().isOk()))
+                .requireAtMost(2);
+    }
+
+    @Test
+    void customerOrderPageTakesTwoStatements() throws Exception {
+        SqlProfiler.profile(() -> mockMvc.perform(get("/api/orders/customer/{id}/page", customer.getId()))
+                .andExpect(status().isOk()))
+                .requireAtMost(2);
+    }
+
+    @Test
+    void customerOrdersTakeTwoStatementsAndNoneOnceCached() throws Exception {
+        SqlProfiler.profile(() -> mockMvc.perform(get("/api/orders/customer/{id}", customer.getId()))
+                .andExpect(status().isOk()))
+                .requireAtMost(2);
+        SqlProfiler.profile(() -> mockMvc.perform(get("/api/orders/customer/{id}", customer.getId()))
+                .andExpect(status().isOk()))
+                .requireAtMost(0);
+    }
+
+    @Test
+    void singleOrderTakesOneStatement() throws Exception {
+        SqlProfiler.profile(() -> mockMvc.perform(get("/api/orders/{id}", orderId)).andExpect(status().isOk()))
+                .requireAtMost(1);
+    }
+}
@@ -0,0 +1,66 @@
+package com.infosys.farmtofork.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Images the crop upload form sends as data URLs are stored and served back under their own type;
+ * types a browser could render as a document are refused.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductImageUploadTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"image/avif", "image/jpeg", "image/png", "image/webp", "image/bmp", "image/tiff"})
+    void rasterUploadsAreStoredAndServedUnderTheirType(String contentType) throws Exception {
+        String body = mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(productJson(contentType, "image bytes for " + contentType)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long id = objectMapper.readTree(body).get("id").asLong();
+
+        mockMvc.perform(get("/api/products/{id}/image", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", contentType))
+                .andExpect(header().string("X-Content-Type-Options", "nosniff"));
+    }
+
+    @Test
+    void documentTypesAreRefused() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(productJson("image/svg+xml", "<svg onload=alert(1)/>")))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static String productJson(String contentType, String payload) {
+        String dataUrl = "data:" + contentType + ";base64,"
+                + Base64.getEncoder().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+        return "{\"name\":\"Upload\",\"cropType\":\"Fruit\",\"imageUrl\":\"" + dataUrl + "\"}";
+    }
+}
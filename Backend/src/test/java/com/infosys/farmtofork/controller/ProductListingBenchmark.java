@@ -0,0 +1,166 @@
+package com.infosys.farmtofork.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infosys.farmtofork.Benchmarks;
+import com.infosys.farmtofork.config.CacheConfig;
+import com.infosys.farmtofork.config.HibernateCacheConfig;
+import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.service.ProductService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Catalog listing at 10k products whose rows still hold legacy inline images. "Before" is the old
+ * listing: every entity, images included, serialized in one response. "After" is GET /api/products
+ * over HTTP, scalar summaries a page at a time, both uncached and served from the page cache.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "spring.jpa.properties.hibernate.generate_statistics=false")
+@ActiveProfiles("test")
+@Tag(Benchmarks.TAG)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductListingBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductListingBenchmark.class);
+
+    private static final int PRODUCTS = 10_000;
+    private static final int IMAGE_BYTES = 4096;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private final String cropType = "Bench-" + UUID.randomUUID();
+    private final HttpClient http = HttpClient.newHttpClient();
+    private TransactionTemplate readOnly;
+
+    @BeforeAll
+    void seed() {
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        byte[] image = new byte[IMAGE_BYTES];
+        new Random(1).nextBytes(image);
+        String dataUrl = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(image);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < PRODUCTS; i++) {
+            rows.add(new Object[]{"Bench Apple " + i, cropType, 10.0 + i % 50, "A", Date.valueOf(LocalDate.now().minusDays(i % 30)),
+                    "Farm " + i % 100, dataUrl, Product.Status.APPROVED.name(), 2.5, "kg"});
+        }
+        jdbcTemplate.batchUpdate("insert into products (name, crop_type, quantity_kg, quality_grade, harvest_date, location, "
+                + "image_url, status, price, unit) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void listing() throws Exception {
+        long[] beforeBytes = new long[1];
+        Benchmarks.Result before = Benchmarks.run("full entity list, images inline", 3, 15, i ->
+                beforeBytes[0] = readOnly.execute(tx -> {
+                    // one query with the image column, as before the attribute was made lazy
+                    List<Product> products = new ArrayList<>();
+                    for (Object[] row : entityManager.createQuery(
+                                    "select p, p.imageUrl from Product p where p.cropType = :cropType", Object[].class)
+                            .setParameter("cropType", cropType)
+                            .getResultList()) {
+                        Product product = (Product) row[0];
+                        product.setImageUrl((String) row[1]);
+                        products.add(product);
+                    }
+                    try {
+                        return (long) objectMapper.writeValueAsBytes(products).length;
+                    } catch (Exception ex) {
+                        throw new IllegalStateException(ex);
+                    }
+                }));
+
+        String path = "/api/products?limit=" + ProductService.MAX_PAGE_SIZE + "&cropType=" + cropType;
+        Benchmarks.Result firstPage = Benchmarks.run("first summary page, uncached", 20, 200, i -> {
+            evictCatalogCaches();
+            fetch(path);
+        });
+        Benchmarks.Result cachedPage = Benchmarks.run("first summary page, cached", 20, 1000, i -> fetch(path));
+
+        long[] afterBytes = new long[1];
+        int[] pages = new int[1];
+        Benchmarks.Result walk = Benchmarks.run("whole catalog in summary pages, uncached", 1, 5, i -> {
+            evictCatalogCaches();
+            afterBytes[0] = 0;
+            pages[0] = 0;
+            String cursor = null;
+            do {
+                byte[] body = fetch(path + (cursor != null ? "&after=" + cursor : ""));
+                afterBytes[0] += body.length;
+                pages[0]++;
+                JsonNode next = objectMapper.readTree(body).get("nextCursor");
+                cursor = next == null || next.isNull() ? null : next.asText();
+            } while (cursor != null);
+        });
+
+        log.info("catalog of {} products: {} bytes before, {} bytes after in {} pages ({} bytes first page)",
+                PRODUCTS, beforeBytes[0], afterBytes[0], pages[0], afterBytes[0] / pages[0]);
+
+        assertThat(pages[0]).isEqualTo(PRODUCTS / ProductService.MAX_PAGE_SIZE);
+        assertThat(afterBytes[0]).as("summaries leave the images out").isLessThan(beforeBytes[0] / 10);
+        assertThat(firstPage.p99Nanos()).as("a page, even uncached, answers before the full list").isLessThan(before.p99Nanos());
+        assertThat(cachedPage.p99Nanos()).isLessThan(firstPage.p99Nanos());
+        assertThat(walk.meanNanos()).isPositive();
+    }
+
+    private byte[] fetch(String path) throws Exception {
+        HttpResponse<byte[]> response = http.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path)).build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+        assertThat(response.statusCode()).isEqualTo(200);
+        return response.body();
+    }
+
+    private void evictCatalogCaches() {
+        cacheManager.getCache(CacheConfig.PRODUCT_PAGES).clear();
+        entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegion(HibernateCacheConfig.CATALOG_QUERY_REGION);
+    }
+}
@@ -0,0 +1,105 @@
+package com.infosys.farmtofork.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infosys.farmtofork.Benchmarks;
+import com.infosys.farmtofork.config.JacksonConfig;
+import com.infosys.farmtofork.dto.OrderItemResponse;
+import com.infosys.farmtofork.dto.OrderResponse;
+import com.infosys.farmtofork.model.Order;
+import com.infosys.farmtofork.model.OrderItem;
+import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.model.User;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.OutputStream;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Mapping and serializing 10k order responses of three lines each. "Before" formats each date with
+ * a new SimpleDateFormat and serializes through bean introspection; "after" is OrderMapper with the
+ * shared DateTimeFormatter and the hand-written serializers from JacksonConfig.
+ */
+@Tag(Benchmarks.TAG)
+class OrderSerializationBenchmark {
+
+    private static final int ORDERS = 10_000;
+
+    private final OrderMapper orderMapper = new OrderMapper();
+
+    @Test
+    void serializeTenThousandOrders() throws Exception {
+        List<Order> orders = orders();
+        ObjectMapper introspecting = new ObjectMapper();
+        ObjectMapper registered = new ObjectMapper().registerModule(new JacksonConfig().responseSerializersModule());
+
+        Benchmarks.Result before = Benchmarks.run("SimpleDateFormat per order, bean serializers", 20, 50, i -> {
+            List<OrderResponse> responses = new ArrayList<>(ORDERS);
+            for (Order order : orders) {
+                responses.add(legacyResponse(order));
+            }
+            introspecting.writeValue(OutputStream.nullOutputStream(), responses);
+        });
+        Benchmarks.Result after = Benchmarks.run("OrderMapper, registered serializers", 20, 50, i -> {
+            List<OrderResponse> responses = new ArrayList<>(ORDERS);
+            for (Order order : orders) {
+                responses.add(orderMapper.toResponse(order));
+            }
+            registered.writeValue(OutputStream.nullOutputStream(), responses);
+        });
+
+        assertThat(registered.writeValueAsString(orderMapper.toResponse(orders.get(0))))
+                .isEqualTo(introspecting.writeValueAsString(legacyResponse(orders.get(0))));
+        assertThat(after.bytesPerOp()).isLessThan(before.bytesPerOp());
+        assertThat(after.opsPerSecond()).isGreaterThan(before.opsPerSecond());
+    }
+
+    // the per-order conversion OrderService did before the mapper layer
+    private static OrderResponse legacyResponse(Order order) {
+        List<OrderItemResponse> items = new ArrayList<>();
+        for (OrderItem item : order.getItems()) {
+            items.add(OrderItemResponse.builder()
+                    .id(item.getId())
+                    .productId(item.getProduct().getId())
+                    .productName(item.getProduct().getName())
+                    .quantity(item.getQuantity())
+                    .price(item.getPrice())
+                    .build());
+        }
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        return OrderResponse.builder()
+                .id(order.getId())
+                .customerId(order.getCustomer().getId())
+                .customerName(order.getCustomer().getName())
+                .totalAmount(order.getTotalAmount())
+                .status(order.getStatus())
+                .createdAt(order.getCreatedAt() != null ? format.format(order.getCreatedAt()) : null)
+                .items(items)
+                .build();
+    }
+
+    private static List<Order> orders() {
+        List<Product> products = new ArrayList<>();
+        for (long p = 1; p <= 50; p++) {
+            products.add(Product.builder().id(p).name("Product " + p).cropType("Apple").build());
+        }
+        List<Order> orders = new ArrayList<>(ORDERS);
+        long now = System.currentTimeMillis();
+        for (long o = 1; o <= ORDERS; o++) {
+            User customer = User.builder().id(o % 500).name("Customer " + o % 500).build();
+            Order order = Order.builder().id(o).customer(customer).totalAmount(12.5 * (o % 9 + 1))
+                    .status("CREATED").createdAt(new Date(now - o * 60_000)).build();
+            for (long line = 0; line < 3; line++) {
+                order.getItems().add(OrderItem.builder().id(o * 3 + line).order(order)
+                        .product(products.get((int) ((o + line) % products.size()))).quantity(line + 1).price(2.5).build());
+            }
+            orders.add(order);
+        }
+        return orders;
+    }
+}
@@ -0,0 +1,104 @@
+package com.infosys.farmtofork.security;
+
+import com.infosys.farmtofork.Benchmarks;
+import com.infosys.farmtofork.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * What JwtAuthenticationFilter adds to a request: the same request without a token is the baseline,
+ * then a client reusing its token (principal cache hit) and a token seen for the first time
+ * (signature check). The load run spreads a pool of clients over several threads.
+ */
+@Tag(Benchmarks.TAG)
+class AuthenticationOverheadBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(AuthenticationOverheadBenchmark.class);
+
+    private static final long BUDGET_NANOS = 50_000;
+    private static final int CLIENTS = 1000;
+    private static final int THREADS = 8;
+    private static final int REQUESTS_PER_THREAD = 25_000;
+
+    private final JwtService jwtService = new JwtService("benchmark-secret", 3_600_000);
+    private final TokenAuthenticator authenticator = new TokenAuthenticator(jwtService, new TokenDenyList(),
+            new SimpleMeterRegistry(), 10_000, Duration.ofMinutes(10));
+    private final JwtAuthenticationFilter filter = new JwtAuthenticationFilter(authenticator);
+    private final FilterChain chain = (request, response) -> {
+        assertThat(((MockHttpServletResponse) response).getStatus()).isEqualTo(200);
+        SecurityContextHolder.clearContext();
+    };
+
+    @Test
+    void authenticatedRequestOverhead() throws Exception {
+        List<String> tokens = new ArrayList<>();
+        for (long id = 1; id <= 20_000; id++) {
+            tokens.add(jwtService.issue(User.builder().id(id).email("user" + id + "@example.com").role("CONSUMER").build()));
+        }
+        String reused = tokens.get(0);
+
+        Benchmarks.Result anonymous = Benchmarks.run("no token", 20_000, 100_000, i -> filter(null));
+        Benchmarks.Result cached = Benchmarks.run("token reused, principal cached", 20_000, 100_000, i -> filter(reused));
+        // every token past the load test's clients is new to the cache, so each request verifies a signature
+        int[] next = {CLIENTS};
+        Benchmarks.Result verified = Benchmarks.run("token seen for the first time", 2_000, 15_000, i ->
+                filter(tokens.get(next[0]++)));
+
+        long cachedOverhead = cached.p50Nanos() - anonymous.p50Nanos();
+        long verifiedOverhead = verified.p50Nanos() - anonymous.p50Nanos();
+        log.info("overhead at p50: {} ns with a cached principal, {} ns with a signature check", cachedOverhead, verifiedOverhead);
+        assertThat(cachedOverhead).isLessThan(BUDGET_NANOS);
+        assertThat(verifiedOverhead).isLessThan(BUDGET_NANOS);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> clients = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int offset = t;
+                clients.add(() -> {
+                    for (int i = 0; i < REQUESTS_PER_THREAD; i++) {
+                        filter(tokens.get((offset * 7919 + i) % CLIENTS));
+                    }
+                    return null;
+                });
+            }
+            long start = System.nanoTime();
+            for (Future<Void> result : pool.invokeAll(clients)) {
+                result.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            long requests = (long) THREADS * REQUESTS_PER_THREAD;
+            log.info("{} authenticated requests from {} clients on {} threads: {} ns per request, {} requests/s",
+                    requests, CLIENTS, THREADS, elapsed / requests, requests * 1_000_000_000L / elapsed);
+            assertThat(elapsed / requests).isLessThan(BUDGET_NANOS);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private void filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/orders/my");
+        if (token != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        }
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+    }
+}
@@ -0,0 +1,123 @@
+package com.infosys.farmtofork.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.infosys.farmtofork.Benchmarks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * What LoginRateLimitFilter adds per request, each figure against the same request handed straight
+ * to the chain: a request that is not a login, a login from a client it has not seen (body parsed,
+ * two buckets created), and a login refused with 429. The contended run takes attempts from one
+ * address bucket on several threads.
+ */
+@Tag(Benchmarks.TAG)
+class LoginRateLimitBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(LoginRateLimitBenchmark.class);
+
+    // far below a single password check, which is tens of milliseconds
+    private static final long LOGIN_BUDGET_NANOS = 50_000;
+    private static final int THREADS = 8;
+    private static final int ATTEMPTS_PER_THREAD = 100_000;
+
+    private final LoginRateLimiter rateLimiter = new LoginRateLimiter(new SimpleMeterRegistry(), 20, 20, 5, 5, 100_000);
+    private final LoginRateLimitFilter filter = new LoginRateLimitFilter(rateLimiter, new ObjectMapper());
+    // reads the body, as the login controller would
+    private final FilterChain chain = (request, response) -> request.getInputStream().readAllBytes();
+
+    @Test
+    void overheadPerRequest() throws Exception {
+        Benchmarks.Result catalog = Benchmarks.run("GET, straight to the chain", 20_000, 100_000, i ->
+                chain.doFilter(catalogRequest(), new MockHttpServletResponse()));
+        Benchmarks.Result catalogFiltered = Benchmarks.run("GET, through the filter", 20_000, 100_000, i ->
+                filter.doFilter(catalogRequest(), new MockHttpServletResponse(), chain));
+
+        Benchmarks.Result login = Benchmarks.run("login, straight to the chain", 20_000, 100_000, i ->
+                chain.doFilter(login("10.1." + i % 250, "user" + i + "@example.com"), new MockHttpServletResponse()));
+        int[] client = {0};
+        Benchmarks.Result loginFiltered = Benchmarks.run("login from a new client, through the filter", 20_000, 100_000, i -> {
+            int n = client[0]++;
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(login("10." + (n >> 16 & 255) + "." + (n >> 8 & 255) + "." + (n & 255), "user" + n + "@example.com"),
+                    response, chain);
+            assertThat(response.getStatus()).isEqualTo(200);
+        });
+        while (rateLimiter.tryAcquire("192.0.2.1", "victim@example.com") == 0) {
+            // spend the account's budget before timing refusals
+        }
+        Benchmarks.Result throttled = Benchmarks.run("login refused, through the filter", 20_000, 100_000, i -> {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(login("192.0.2.1", "victim@example.com"), response, chain);
+            assertThat(response.getStatus()).isEqualTo(429);
+        });
+
+        log.info("filter overhead at p50: {} ns not a login, {} ns allowed login, {} ns refused login",
+                catalogFiltered.p50Nanos() - catalog.p50Nanos(), loginFiltered.p50Nanos() - login.p50Nanos(),
+                throttled.p50Nanos() - login.p50Nanos());
+        assertThat(catalogFiltered.p50Nanos() - catalog.p50Nanos()).isLessThan(5_000);
+        assertThat(loginFiltered.p50Nanos() - login.p50Nanos()).isLessThan(LOGIN_BUDGET_NANOS);
+        assertThat(throttled.p50Nanos() - login.p50Nanos()).isLessThan(LOGIN_BUDGET_NANOS);
+    }
+
+    @Test
+    void contendedBucket() throws Exception {
+        AtomicLong allowed = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Void>> attackers = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                attackers.add(() -> {
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        if (rateLimiter.tryAcquire("198.51.100.7", null) == 0) {
+                            allowed.incrementAndGet();
+                        }
+                    }
+                    return null;
+                });
+            }
+            long start = System.nanoTime();
+            for (Future<Void> result : pool.invokeAll(attackers)) {
+                result.get();
+            }
+            long elapsed = System.nanoTime() - start;
+            long attempts = (long) THREADS * ATTEMPTS_PER_THREAD;
+            log.info("{} attempts on one bucket from {} threads: {} ns each, {} allowed", attempts, THREADS,
+                    elapsed / attempts, allowed.get());
+            // the bucket's capacity plus whatever refilled while the run lasted
+            assertThat(allowed.get()).isBetween(20L, 20L + elapsed / 3_000_000_000L + 1);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static MockHttpServletRequest catalogRequest() {
+        return new MockHttpServletRequest("GET", "/api/products");
+    }
+
+    private static MockHttpServletRequest login(String address, String email) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", LoginRateLimitFilter.LOGIN_PATH);
+        request.setRemoteAddr(address);
+        request.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        request.setContent(("{\"email\":\"" + email + "\",\"password\":\"password123\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
@@ -0,0 +1,87 @@
+package com.infosys.farmtofork.security;
+
+import com.infosys.farmtofork.Benchmarks;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * BCrypt cost against login throughput through PasswordHasher's pool: each step of cost doubles the
+ * time per check and halves the logins a node can verify. A burst larger than the queue is turned
+ * away rather than waited on.
+ */
+@Tag(Benchmarks.TAG)
+class PasswordHashingBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingBenchmark.class);
+
+    private static final int MIN_COST = 8;
+    private static final int MAX_COST = 12;
+    private static final int QUEUE_CAPACITY = 64;
+
+    @Test
+    void costVersusThroughput() throws Exception {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int loginsPerOp = threads * 2;
+        double previousLoginsPerSecond = Double.MAX_VALUE;
+        for (int cost = MIN_COST; cost <= MAX_COST; cost++) {
+            PasswordHasher hasher = new PasswordHasher(new SimpleMeterRegistry(), cost, 0, threads, QUEUE_CAPACITY);
+            try {
+                String stored = hasher.hash("password123").join();
+                int iterations = Math.max(2, 16 >> (cost - MIN_COST));
+                Benchmarks.Result single = Benchmarks.run("cost " + cost + ", one check", 1, iterations, i ->
+                        assertThat(hasher.matches("password123", stored).join()).isTrue());
+                Benchmarks.Result batch = Benchmarks.run("cost " + cost + ", " + loginsPerOp + " concurrent checks", 1, iterations, i -> {
+                    List<CompletableFuture<Boolean>> checks = new ArrayList<>();
+                    for (int login = 0; login < loginsPerOp; login++) {
+                        checks.add(hasher.matches("password123", stored));
+                    }
+                    checks.forEach(check -> assertThat(check.join()).isTrue());
+                });
+                double loginsPerSecond = batch.opsPerSecond() * loginsPerOp;
+                log.info("cost {}: {} ms per check, {} logins/s on {} hashing threads", cost,
+                        single.p50Nanos() / 1_000_000, Math.round(loginsPerSecond), threads);
+                assertThat(loginsPerSecond).isLessThan(previousLoginsPerSecond);
+                previousLoginsPerSecond = loginsPerSecond;
+            } finally {
+                hasher.stop();
+            }
+        }
+    }
+
+    @Test
+    void aBurstBeyondTheQueueIsRejected() {
+        PasswordHasher hasher = new PasswordHasher(new SimpleMeterRegistry(), MIN_COST, 0, 1, QUEUE_CAPACITY);
+        try {
+            String stored = new BCryptPasswordEncoder(MIN_COST).encode("password123");
+            List<CompletableFuture<Boolean>> checks = new ArrayList<>();
+            for (int login = 0; login < QUEUE_CAPACITY * 3; login++) {
+                checks.add(hasher.matches("password123", stored));
+            }
+            int rejected = 0;
+            for (CompletableFuture<Boolean> check : checks) {
+                try {
+                    assertThat(check.join()).isTrue();
+                } catch (CompletionException ex) {
+                    assertThat(ex.getCause()).isInstanceOf(RejectedExecutionException.class);
+                    rejected++;
+                }
+            }
+            log.info("{} of {} checks in a burst rejected", rejected, checks.size());
+            assertThat(rejected).isBetween(QUEUE_CAPACITY, QUEUE_CAPACITY * 3 - QUEUE_CAPACITY);
+        } finally {
+            hasher.stop();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.infosys.farmtofork.service;
+
+import com.infosys.farmtofork.Benchmarks;
+import com.infosys.farmtofork.config.AiScoreClientConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bytes allocated on the calling thread per scoring call for a 1 MB image. "Before" posts the
+ * image as a base64 data URL inside a JSON body, as the client used to; "after" is scoreBatch,
+ * which streams the stored blob as a multipart part.
+ */
+@Tag(Benchmarks.TAG)
+class AiScoreAllocationBenchmark {
+
+    private static final int IMAGE_BYTES = 1 << 20;
+
+    @TempDir
+    Path dir;
+
+    private StubScorer scorer;
+    private CloseableHttpClient httpClient;
+    private ImageBlobStore.StoredImage image;
+    private String dataUrl;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        scorer = new StubScorer();
+        httpClient = new AiScoreClientConfig().aiScoreHttpClient(20, 1000);
+        byte[] bytes = new byte[IMAGE_BYTES];
+        new Random(1).nextBytes(bytes);
+        Path path = Files.write(dir.resolve("image.jpg"), bytes);
+        image = new ImageBlobStore.StoredImage(ImageBlobStore.sha256(bytes), "image/jpeg", bytes.length, path);
+        dataUrl = "data:image/jpeg;base64," + Base64.getEncoder().encodeToString(bytes);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        scorer.close();
+        httpClient.close();
+    }
+
+    @Test
+    void bytesAllocatedPerScoringCall() throws Exception {
+        RestTemplate json = new RestTemplateBuilder()
+                .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(httpClient))
+                .build();
+        String url = scorer.url() + "/batch";
+        Benchmarks.Result before = Benchmarks.run("JSON body with a base64 data URL", 20, 200, i ->
+                json.postForObject(url, Map.of("image", dataUrl), String.class));
+
+        AiScoreService service = new AiScoreService(new RestTemplateBuilder(), httpClient, new SimpleMeterRegistry(),
+                scorer.url(), true, 20, 0.5, 30000, 4, 100, 1000, 15000);
+        Benchmarks.Result after = Benchmarks.run("multipart part streamed from the blob", 20, 200, i ->
+                assertThat(service.scoreBatch(List.of(image))).isPresent());
+
+        assertThat(before.bytesPerOp()).as("the payload is copied several times").isGreaterThan(2L * IMAGE_BYTES);
+        assertThat(after.bytesPerOp()).as("no copy of the image on the heap").isLessThan(IMAGE_BYTES / 4);
+    }
+}
@@ -0,0 +1,194 @@
+package com.infosys.farmtofork.service;
+
+import com.infosys.farmtofork.config.AiScoreClientConfig;
+import com.infosys.farmtofork.dto.AiScoreResult;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The breaker, bulkhead and adaptive timeout around the scorer, driven through AiScoreService
+ * against a stub that fails, slows down and hangs on demand.
+ */
+class AiScoreResilienceTest {
+
+    @TempDir
+    Path dir;
+
+    private StubScorer scorer;
+    private CloseableHttpClient httpClient;
+    private MeterRegistry meterRegistry;
+    private List<ImageBlobStore.StoredImage> images;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        scorer = new StubScorer();
+        httpClient = new AiScoreClientConfig().aiScoreHttpClient(20, 1000);
+        meterRegistry = new SimpleMeterRegistry();
+        Path image = Files.write(dir.resolve("apple.png"), new byte[]{(byte) 0x89, 'P', 'N', 'G', 1, 2, 3});
+        images = List.of(new ImageBlobStore.StoredImage("a".repeat(64), "image/png", Files.size(image), image));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        scorer.close();
+        httpClient.close();
+    }
+
+    @Test
+    void breakerOpensOnServerErrorsAndHalfOpensAfterTheOpenPeriod() throws Exception {
+        AiScoreService service = service(4, 1.0, 500, 4, 100, 1000, 10000);
+        scorer.respondWith(503);
+        assertThat(service.scoreBatch(images)).isEmpty();
+        assertThat(service.isHealthy()).as("one failure of the minimum two").isTrue();
+        assertThat(service.scoreBatch(images)).isEmpty();
+        assertThat(service.isHealthy()).as("breaker open").isFalse();
+        assertThat(gauge("ai.score.breaker.open")).isEqualTo(1.0);
+
+        // open: rejected without reaching the scorer
+        assertThat(service.scoreBatch(images)).isEmpty();
+        assertThat(scorer.calls()).isEqualTo(2);
+        assertThat(counter("ai.score.breaker.rejected")).isEqualTo(1.0);
+
+        scorer.healthy();
+        scorer.delay(300);
+        Thread.sleep(600);
+        // half-open: one probe goes through, everything else is still turned away
+        CompletableFuture<Optional<List<AiScoreResult>>> probe = CompletableFuture.supplyAsync(() -> service.scoreBatch(images));
+        await(() -> scorer.calls() == 3);
+        assertThat(service.scoreBatch(images)).as("call beside the probe").isEmpty();
+        assertThat(scorer.calls()).isEqualTo(3);
+        assertThat(counter("ai.score.breaker.rejected")).isEqualTo(2.0);
+        assertThat(service.isHealthy()).isFalse();
+
+        assertThat(probe.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(service.isHealthy()).as("closed by the successful probe").isTrue();
+        assertThat(gauge("ai.score.breaker.open")).isEqualTo(0.0);
+        scorer.delay(0);
+        assertThat(service.scoreBatch(images)).isPresent();
+    }
+
+    @Test
+    void aFailedProbeOpensTheBreakerAgain() throws Exception {
+        AiScoreService service = service(4, 1.0, 300, 4, 100, 1000, 10000);
+        scorer.respondWith(500);
+        service.scoreBatch(images);
+        service.scoreBatch(images);
+        assertThat(service.isHealthy()).isFalse();
+
+        Thread.sleep(400);
+        assertThat(service.scoreBatch(images)).as("probe").isEmpty();
+        assertThat(scorer.calls()).isEqualTo(3);
+
+        scorer.healthy();
+        assertThat(service.scoreBatch(images)).as("reopened for a full period").isEmpty();
+        assertThat(scorer.calls()).isEqualTo(3);
+        Thread.sleep(400);
+        assertThat(service.scoreBatch(images)).isPresent();
+        assertThat(service.isHealthy()).isTrue();
+    }
+
+    @Test
+    void clientErrorsDoNotOpenTheBreaker() {
+        AiScoreService service = service(4, 0.5, 30000, 4, 100, 1000, 10000);
+        scorer.respondWith(400);
+        for (int i = 0; i < 10; i++) {
+            assertThat(service.scoreBatch(images)).isEmpty();
+        }
+        assertThat(service.isHealthy()).isTrue();
+        assertThat(scorer.calls()).isEqualTo(10);
+    }
+
+    @Test
+    void bulkheadRejectsCallsBeyondItsLimit() throws Exception {
+        AiScoreService service = service(20, 0.5, 30000, 2, 50, 1000, 10000);
+        scorer.hang();
+        CompletableFuture<Optional<List<AiScoreResult>>> first = CompletableFuture.supplyAsync(() -> service.scoreBatch(images));
+        CompletableFuture<Optional<List<AiScoreResult>>> second = CompletableFuture.supplyAsync(() -> service.scoreBatch(images));
+        await(() -> scorer.calls() == 2);
+
+        long start = System.nanoTime();
+        assertThat(service.scoreBatch(images)).isEmpty();
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).as("waited only for a permit").isLessThan(1000);
+        assertThat(counter("ai.score.bulkhead.rejected")).isEqualTo(1.0);
+        assertThat(scorer.calls()).isEqualTo(2);
+
+        scorer.release();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(second.get(5, TimeUnit.SECONDS)).isPresent();
+        assertThat(service.scoreBatch(images)).as("permits returned").isPresent();
+        assertThat(service.isHealthy()).as("rejections are not failures").isTrue();
+    }
+
+    @Test
+    void timeoutTightensOnceTheScorerIsKnownToBeFast() {
+        long maxTimeoutMs = 10000;
+        AiScoreService service = service(40, 0.5, 30000, 4, 100, 200, maxTimeoutMs);
+        for (int i = 0; i < 20; i++) {
+            assertThat(service.scoreBatch(images)).isPresent();
+        }
+
+        scorer.hang();
+        long start = System.nanoTime();
+        assertThat(service.scoreBatch(images)).isEmpty();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertThat(elapsedMs).as("cut off by the adapted timeout").isGreaterThanOrEqualTo(200).isLessThan(maxTimeoutMs / 2);
+        assertThat(meterRegistry.get("ai.score.call").tag("outcome", "timeout").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void timeoutGrowsWhenCallsStartTimingOut() {
+        AdaptiveTimeout timeout = new AdaptiveTimeout(256, 0.99, 3.0, 100, 10000, 20);
+        assertThat(timeout.timeoutMillis(1)).as("no history yet").isEqualTo(10000);
+
+        for (int i = 0; i < 20; i++) {
+            timeout.record(40 * 4, 4);
+        }
+        assertThat(timeout.timeoutMillis(1)).isEqualTo(120);
+        assertThat(timeout.timeoutMillis(8)).as("scales with the batch").isEqualTo(960);
+        assertThat(timeout.timeoutMillis(100)).as("capped").isEqualTo(10000);
+
+        // a slowing scorer: calls hit the timeout they were given, which pushes the percentile up
+        for (int i = 0; i < 16; i++) {
+            timeout.recordTimeout(120, 1);
+        }
+        assertThat(timeout.timeoutMillis(1)).isEqualTo(360);
+    }
+
+    private AiScoreService service(int window, double failureRate, long openMs, int maxConcurrent,
+                                   long bulkheadWaitMs, long minTimeoutMs, long maxTimeoutMs) {
+        return new AiScoreService(new RestTemplateBuilder(), httpClient, meterRegistry, scorer.url(), true,
+                window, failureRate, openMs, maxConcurrent, bulkheadWaitMs, minTimeoutMs, maxTimeoutMs);
+    }
+
+    private double counter(String name) {
+        return meterRegistry.get(name).counter().count();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not reached in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
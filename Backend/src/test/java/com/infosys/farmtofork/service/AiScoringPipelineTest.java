@@ -0,0 +1,226 @@
+package com.infosys.farmtofork.service;
+
+import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The scoring pipeline against a stub /score/batch: products queue up to the queue's capacity, a
+ * burst goes out as one call, results are written back through applyAiScore, and a bad image or
+ * a refused batch only affects the products it belongs to.
+ */
+@SpringBootTest(properties = {
+        "ai.score.enabled=true",
+        "ai.score.workers=1",
+        "ai.score.queue-capacity=4",
+        "ai.score.batch-size=4",
+        "ai.score.batch-wait-ms=300",
+        "ai.score.offer-timeout-ms=50",
+        "ai.score.max-attempts=2",
+        "ai.score.breaker.window=4",
+        "ai.score.breaker.open-ms=500"
+})
+@ActiveProfiles("test")
+class AiScoringPipelineTest {
+
+    private static final StubScorer scorer = startScorer();
+
+    @Autowired
+    private AiScoringPipeline pipeline;
+
+    @Autowired
+    private ImageBlobStore imageBlobStore;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void scorerUrl(DynamicPropertyRegistry registry) {
+        registry.add("ai.score.service-url", scorer::url);
+    }
+
+    @AfterEach
+    void resetScorer() {
+        scorer.healthy();
+    }
+
+    @AfterAll
+    static void stopScorer() {
+        scorer.close();
+    }
+
+    @Test
+    void aBurstIsScoredInOneCallAndWrittenBack() throws Exception {
+        List<Product> products = products(4);
+        int calls = scorer.calls();
+        products.forEach(p -> assertThat(pipeline.submit(p.getId())).isTrue());
+
+        awaitScored(products);
+        assertThat(scorer.calls() - calls).isEqualTo(1);
+        assertThat(lastBatchSize()).isEqualTo(4);
+        for (Product product : products) {
+            Product stored = productRepository.findById(product.getId()).orElseThrow();
+            assertThat(stored.getAiScore()).isEqualTo(80.0);
+            assertThat(stored.getAiVerdict()).isEqualTo("Good");
+        }
+    }
+
+    @Test
+    void anUndecodableImageIsMarkedUnscorableWithoutFailingItsBatch() throws Exception {
+        List<Product> products = products(3);
+        Product broken = products.get(1);
+        scorer.undecodable(broken.getImageRef());
+        products.forEach(p -> pipeline.submit(p.getId()));
+
+        awaitScored(products);
+        Product unscorable = productRepository.findById(broken.getId()).orElseThrow();
+        assertThat(unscorable.getAiScore()).isNull();
+        assertThat(unscorable.getAiVerdict()).isEqualTo(AiScoringPipeline.UNSCORABLE_VERDICT);
+        for (Product product : List.of(products.get(0), products.get(2))) {
+            assertThat(productRepository.findById(product.getId()).orElseThrow().getAiScore()).isEqualTo(80.0);
+        }
+    }
+
+    @Test
+    void aFullQueueTurnsSubmissionsAwayUntilTheSweep() throws Exception {
+        scorer.hang();
+        int calls = scorer.calls();
+        Product first = products(1).get(0);
+        pipeline.submit(first.getId());
+        // the only worker is now stuck on the scorer, so nothing drains the queue
+        await(() -> scorer.calls() == calls + 1);
+
+        List<Product> queued = products(4);
+        queued.forEach(p -> assertThat(pipeline.submit(p.getId())).as("queued").isTrue());
+        List<Product> overflow = products(2);
+        double rejected = meterRegistry.get("ai.score.queue.rejected").counter().count();
+        overflow.forEach(p -> assertThat(pipeline.submit(p.getId())).as("over capacity").isFalse());
+        assertThat(meterRegistry.get("ai.score.queue.rejected").counter().count()).isEqualTo(rejected + 2);
+        assertThat(meterRegistry.get("ai.score.queue.depth").gauge().value()).isEqualTo(4.0);
+
+        scorer.release();
+        awaitScored(queued);
+        assertThat(productRepository.findById(first.getId()).orElseThrow().getAiScore()).isEqualTo(80.0);
+        for (Product product : overflow) {
+            assertThat(productRepository.findById(product.getId()).orElseThrow().getAiVerdict()).as("left pending").isNull();
+        }
+
+        pipeline.sweep();
+        awaitScored(overflow);
+    }
+
+    @Test
+    void aRefusedBatchIsRetriedThenGivenUp() throws Exception {
+        scorer.respondWith(422);
+        Product product = products(1).get(0);
+        int calls = scorer.calls();
+
+        pipeline.submit(product.getId());
+        await(() -> scorer.calls() == calls + 1);
+        // the refusal counts as one failed attempt; the product is free to be queued again
+        await(() -> pipeline.submit(product.getId()));
+        awaitScored(List.of(product));
+
+        Product unscorable = productRepository.findById(product.getId()).orElseThrow();
+        assertThat(unscorable.getAiScore()).isNull();
+        assertThat(unscorable.getAiVerdict()).isEqualTo(AiScoringPipeline.UNSCORABLE_VERDICT);
+        assertThat(scorer.calls()).isEqualTo(calls + 2);
+    }
+
+    @Test
+    void productsAreLeftForTheSweepWhileTheScorerIsDown() throws Exception {
+        scorer.respondWith(503);
+        List<Product> products = products(3);
+        int calls = scorer.calls();
+        for (Product product : products) {
+            int before = scorer.calls();
+            await(() -> pipeline.submit(product.getId()));
+            await(() -> scorer.calls() > before || meterRegistry.get("ai.score.breaker.open").gauge().value() == 1.0);
+        }
+        await(() -> meterRegistry.get("ai.score.breaker.open").gauge().value() == 1.0);
+        assertThat(scorer.calls() - calls).as("no calls once the breaker opened").isLessThanOrEqualTo(2);
+
+        Thread.sleep(300);
+        for (Product product : products) {
+            Product stored = productRepository.findById(product.getId()).orElseThrow();
+            assertThat(stored.getAiVerdict()).as("not given up while the scorer is down").isNull();
+        }
+
+        scorer.healthy();
+        Thread.sleep(500);
+        await(() -> {
+            pipeline.sweep();
+            return products.stream().allMatch(this::hasVerdict);
+        });
+        for (Product product : products) {
+            assertThat(productRepository.findById(product.getId()).orElseThrow().getAiScore()).isEqualTo(80.0);
+        }
+    }
+
+    private List<Product> products(int count) {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            // distinct bytes, so the hash cache never answers in place of the scorer
+            byte[] bytes = ("image-" + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+            ImageBlobStore.StoredImage image = imageBlobStore.store(bytes, "image/png");
+            products.add(productRepository.save(Product.builder()
+                    .name("Queued Apple " + i)
+                    .cropType("Apple")
+                    .imageRef(image.getHash())
+                    .imageContentType(image.getContentType())
+                    .build()));
+        }
+        return products;
+    }
+
+    private boolean hasVerdict(Product product) {
+        return productRepository.findById(product.getId()).orElseThrow().getAiVerdict() != null;
+    }
+
+    private int lastBatchSize() {
+        List<Integer> sizes = scorer.batchSizes();
+        return sizes.get(sizes.size() - 1);
+    }
+
+    private void awaitScored(List<Product> products) throws InterruptedException {
+        await(() -> products.stream().allMatch(this::hasVerdict));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not reached in time").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static StubScorer startScorer() {
+        try {
+            return new StubScorer();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.infosys.farmtofork.service;
+
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * The oversell check with reservations taken from the in-memory ledger instead of the table.
+ */
+@SpringBootTest(properties = {"inventory.ledger.enabled=true", "inventory.ledger.flush-interval-ms=200"})
+class LedgerStockReservationStressTest extends StockReservationStressTest {
+}
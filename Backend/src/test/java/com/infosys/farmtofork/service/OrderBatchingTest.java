@@ -0,0 +1,80 @@
+package com.infosys.farmtofork.service;
+
+import com.infosys.farmtofork.dto.OrderItemRequest;
+import com.infosys.farmtofork.dto.OrderRequest;
+import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.model.User;
+import com.infosys.farmtofork.repository.ProductRepository;
+import com.infosys.farmtofork.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Order creation writes the order and all its lines in JDBC batches: the statement count must not
+ * grow with the number of lines beyond one id-block fetch per 50 ids.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class OrderBatchingTest {
+
+    private static final int BATCH_SIZE = 50;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private User customer;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        customer = userRepository.findByEmail("consumer@example.com");
+        // products of its own, without inventory rows, so stock other tests left behind cannot run out
+        products = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            products.add(productRepository.save(Product.builder().name("Batch Product " + i).cropType("Grain").build()));
+        }
+    }
+
+    @Test
+    void linesAreInsertedInBatches() {
+        long oneLine = statementsFor(1);
+        long manyLines = statementsFor(200);
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(201);
+        assertThat(manyLines - oneLine)
+                .as("statements added by 199 more lines")
+                .isLessThanOrEqualTo(200 / BATCH_SIZE + 1);
+    }
+
+    private long statementsFor(int lines) {
+        List<OrderItemRequest> items = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            items.add(new OrderItemRequest(products.get(i % products.size()).getId(), 1L, 2.5));
+        }
+        statistics.clear();
+        orderService.createOrder(new OrderRequest(customer.getId(), items));
+        return statistics.getPrepareStatementCount();
+    }
+}
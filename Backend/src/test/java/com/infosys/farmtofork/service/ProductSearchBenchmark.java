@@ -0,0 +1,152 @@
+package com.infosys.farmtofork.service;
+
+import com.infosys.farmtofork.Benchmarks;
+import com.infosys.farmtofork.dto.ProductSearchQuery;
+import com.infosys.farmtofork.dto.ProductSearchResponse;
+import com.infosys.farmtofork.dto.ProductSummary;
+import com.infosys.farmtofork.model.Product;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query latency of the search index at a million products (override with
+ * {@code -Dbenchmark.search.products}): prefix and fuzzy name search, facet filters and AI score
+ * ranges, each returning a page of 20 with facet counts over all hits. "Before" is what buyers had
+ * without the index, the product list filtered in memory, for the queries it can express.
+ */
+@Tag(Benchmarks.TAG)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProductSearchBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductSearchBenchmark.class);
+
+    private static final int PRODUCTS = Integer.getInteger("benchmark.search.products", 1_000_000);
+    private static final long TARGET_MICROS = 10_000;
+    private static final String[] CROPS = {"Apple", "Tomato", "Potato", "Carrot", "Spinach", "Mango", "Banana",
+            "Onion", "Pepper", "Grape", "Wheat", "Rice", "Lettuce", "Cabbage", "Orange", "Pear", "Plum", "Corn"};
+    private static final String[] VARIETIES = {"Honeycrisp", "Gala", "Fuji", "Roma", "Cherry", "Heirloom", "Russet",
+            "Yukon", "Baby", "Organic", "Sweet", "Red", "Golden", "Green", "Wild", "Alphonso", "Basmati", "Durum"};
+    private static final String[] GRADES = {"A", "B", "C"};
+
+    @TempDir
+    static Path dir;
+
+    private final List<ProductSummary> catalog = new ArrayList<>(PRODUCTS);
+    private ProductSearchIndex index;
+
+    @BeforeAll
+    void build() throws Exception {
+        index = new ProductSearchIndex(null, dir.toString());
+        index.open();
+        Random random = new Random(1);
+        long start = System.nanoTime();
+        for (int i = 1; i <= PRODUCTS; i++) {
+            String crop = CROPS[random.nextInt(CROPS.length)];
+            ProductSummary product = ProductSummary.builder()
+                    .id((long) i)
+                    .name(VARIETIES[random.nextInt(VARIETIES.length)] + " " + crop + " " + random.nextInt(1000))
+                    .cropType(crop)
+                    .qualityGrade(GRADES[random.nextInt(GRADES.length)])
+                    .location("Farm " + random.nextInt(500))
+                    .status(random.nextInt(10) == 0 ? Product.Status.PENDING : Product.Status.APPROVED)
+                    .aiScore(random.nextInt(20) == 0 ? null : random.nextDouble() * 100)
+                    .quantityKg(10.0 + random.nextInt(500))
+                    .price(1.0 + random.nextInt(2000) / 100.0)
+                    .unit("kg")
+                    .harvestDate(LocalDate.of(2026, 1, 1).plusDays(random.nextInt(300)))
+                    .build();
+            catalog.add(product);
+            index.index(product);
+        }
+        index.commit();
+        index.refresh();
+        log.info("indexed {} products in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @AfterAll
+    void close() throws Exception {
+        index.close();
+    }
+
+    @Test
+    void queriesAtScale() throws Exception {
+        assertThat(index.size()).isEqualTo(PRODUCTS);
+        run("prefix name search", ProductSearchQuery.builder().text("honeyc"));
+        run("fuzzy name search", ProductSearchQuery.builder().text("appel"));
+
+        Benchmarks.Result terms = run("two terms, grade and status filters", ProductSearchQuery.builder()
+                .text("gala apple").qualityGrade("A").status(Product.Status.APPROVED));
+        Benchmarks.Result termsScan = scan("two terms, grade and status filters", p ->
+                hasWord(p, "gala") && hasWord(p, "apple") && "A".equals(p.getQualityGrade())
+                        && p.getStatus() == Product.Status.APPROVED);
+        assertThat(terms.p50Nanos()).isLessThan(termsScan.p50Nanos());
+
+        Benchmarks.Result range = run("crop facet with an AI score range", ProductSearchQuery.builder()
+                .cropType("Mango").minAiScore(90.0));
+        Benchmarks.Result rangeScan = scan("crop facet with an AI score range", p ->
+                "Mango".equals(p.getCropType()) && p.getAiScore() != null && p.getAiScore() >= 90.0);
+        assertThat(range.p50Nanos()).isLessThan(rangeScan.p50Nanos());
+
+        Benchmarks.Result band = run("location facet, score band, prefix", ProductSearchQuery.builder()
+                .text("swe").location("Farm 42").minAiScore(40.0).maxAiScore(80.0));
+        Benchmarks.Result bandScan = scan("location facet, score band, prefix", p ->
+                "Farm 42".equals(p.getLocation()) && p.getAiScore() != null && p.getAiScore() >= 40.0
+                        && p.getAiScore() <= 80.0 && p.getName().toLowerCase(Locale.ROOT).contains("swe"));
+        assertThat(band.p50Nanos()).isLessThan(bandScan.p50Nanos());
+    }
+
+    private Benchmarks.Result run(String name, ProductSearchQuery.ProductSearchQueryBuilder query) throws Exception {
+        ProductSearchQuery request = query.offset(0).limit(20).build();
+        ProductSearchResponse first = index.search(request);
+        assertThat(first.getTotal()).as(name).isPositive();
+        Benchmarks.Result result = Benchmarks.run(name, 50, 500, i -> index.search(request));
+        log.info("{}: {} hits, {} the {} us target at p50, {} at p99", name, first.getTotal(),
+                result.p50Micros() < TARGET_MICROS ? "within" : "over", TARGET_MICROS,
+                result.p99Micros() < TARGET_MICROS ? "within" : "over");
+        return result;
+    }
+
+    // the same page and facet counts from the whole product list, as before the index
+    private Benchmarks.Result scan(String name, Predicate<ProductSummary> filter) throws Exception {
+        return Benchmarks.run(name + ", list scan", 5, 30, i -> {
+            List<ProductSummary> hits = new ArrayList<>();
+            Map<String, Long> crops = new HashMap<>();
+            for (ProductSummary product : catalog) {
+                if (filter.test(product)) {
+                    hits.add(product);
+                    crops.merge(product.getCropType(), 1L, Long::sum);
+                }
+            }
+            hits.sort(Comparator.comparing(ProductSummary::getAiScore, Comparator.nullsLast(Comparator.reverseOrder())));
+            assertThat(hits.subList(0, Math.min(20, hits.size()))).isNotEmpty();
+        });
+    }
+
+    private static boolean hasWord(ProductSummary product, String word) {
+        for (String token : product.getName().split(" ")) {
+            if (token.equalsIgnoreCase(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
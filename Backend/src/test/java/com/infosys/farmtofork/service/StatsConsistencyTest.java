@@ -0,0 +1,119 @@
+package com.infosys.farmtofork.service;
+
+import com.infosys.farmtofork.dto.InventoryRequest;
+import com.infosys.farmtofork.dto.OrderItemRequest;
+import com.infosys.farmtofork.dto.OrderRequest;
+import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.model.User;
+import com.infosys.farmtofork.repository.ProductRepository;
+import com.infosys.farmtofork.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The incrementally maintained dashboard counters must match a rebuild from the source tables after
+ * a concurrent mix of order placements, status changes, deletions, product creates and AI scores.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StatsConsistencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ORDERS = 200;
+
+    @Autowired
+    private StatsService statsService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void countersMatchRebuildAfterConcurrentWrites() throws Exception {
+        User farmer = userRepository.findByEmail("farmer@example.com");
+        User customer = userRepository.findByEmail("consumer@example.com");
+        Product product = productRepository.save(Product.builder().name("Stats Carrot").cropType("Vegetable").build());
+        inventoryService.addInventory(new InventoryRequest(product.getId(), farmer.getId(), 10_000L, null));
+        // start from counters that agree with the tables, whatever other tests in this context did
+        statsService.rebuild();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Callable<Long>> placements = new ArrayList<>();
+            for (int i = 0; i < ORDERS; i++) {
+                long quantity = 1 + i % 3;
+                placements.add(() -> orderService.createOrder(new OrderRequest(customer.getId(),
+                        List.of(new OrderItemRequest(product.getId(), quantity, 2.5)))).getId());
+            }
+            List<Long> ids = new ArrayList<>();
+            for (Future<Long> placed : executor.invokeAll(placements)) {
+                ids.add(placed.get());
+            }
+
+            List<Callable<Void>> changes = new ArrayList<>();
+            for (int i = 0; i < ORDERS; i++) {
+                long id = ids.get(i);
+                int n = i;
+                if (n % 5 == 4) {
+                    changes.add(() -> {
+                        orderService.deleteOrder(id);
+                        return null;
+                    });
+                } else if (n % 5 != 3) {
+                    // cancelled and back again moves revenue out of and into the day's total
+                    changes.add(() -> {
+                        orderService.updateOrderStatus(id, n % 2 == 0 ? "CANCELLED" : "SHIPPED");
+                        if (n % 4 == 0) {
+                            orderService.updateOrderStatus(id, "CONFIRMED");
+                        }
+                        return null;
+                    });
+                }
+            }
+            for (int i = 0; i < 20; i++) {
+                double score = 60.0 + i;
+                String cropType = i % 2 == 0 ? "Fruit" : "Grain";
+                changes.add(() -> {
+                    productService.create(Product.builder().name("Scored " + score).cropType(cropType).aiScore(score).build());
+                    return null;
+                });
+                changes.add(() -> {
+                    Product unscored = productService.create(Product.builder().name("Unscored " + score).cropType(cropType).build());
+                    productService.applyAiScore(unscored.getId(), score, "Good");
+                    return null;
+                });
+            }
+            for (Future<Void> change : executor.invokeAll(changes)) {
+                change.get();
+            }
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        }
+
+        assertThat(statsService.rebuild()).as("drifted counters").isZero();
+    }
+}
@@ -0,0 +1,123 @@
+package com.infosys.farmtofork.service;
+
+import com.infosys.farmtofork.dto.InventoryRequest;
+import com.infosys.farmtofork.dto.OrderItemRequest;
+import com.infosys.farmtofork.dto.OrderRequest;
+import com.infosys.farmtofork.model.Inventory;
+import com.infosys.farmtofork.model.Product;
+import com.infosys.farmtofork.model.User;
+import com.infosys.farmtofork.repository.ProductRepository;
+import com.infosys.farmtofork.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Many concurrent two-line orders against more demand than stock: no inventory row may go negative,
+ * and the stock left must equal the initial stock minus exactly what the successful orders took.
+ * Half the orders list their lines in reverse, so lock ordering is exercised too. Stock is read
+ * through InventoryService, so the subclass can run the same check against the in-memory ledger.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class StockReservationStressTest {
+
+    private static final int THREADS = 32;
+    private static final int ORDERS = 400;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void concurrentOrdersNeverOversell() throws Exception {
+        User farmer = userRepository.findByEmail("farmer@example.com");
+        User distributor = userRepository.findByEmail("distributor@example.com");
+        User customer = userRepository.findByEmail("consumer@example.com");
+        Product first = productRepository.save(Product.builder().name("Stress Tomato").cropType("Vegetable").build());
+        Product second = productRepository.save(Product.builder().name("Stress Onion").cropType("Vegetable").build());
+        // the first product spread over two owners, so one reservation may drain several rows
+        stock(first, farmer, 100);
+        stock(first, distributor, 50);
+        stock(second, farmer, 120);
+
+        AtomicLong takenFirst = new AtomicLong();
+        AtomicLong takenSecond = new AtomicLong();
+        AtomicLong placed = new AtomicLong();
+        Map<String, Integer> failures = new ConcurrentHashMap<>();
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            long a = 1 + i % 3;
+            long b = 1 + i % 2;
+            boolean reversed = i % 2 == 0;
+            tasks.add(() -> {
+                List<OrderItemRequest> items = new ArrayList<>(List.of(
+                        new OrderItemRequest(first.getId(), a, 1.0),
+                        new OrderItemRequest(second.getId(), b, 1.0)));
+                if (reversed) {
+                    Collections.reverse(items);
+                }
+                try {
+                    orderService.createOrder(new OrderRequest(customer.getId(), items));
+                    takenFirst.addAndGet(a);
+                    takenSecond.addAndGet(b);
+                    placed.incrementAndGet();
+                } catch (RuntimeException ex) {
+                    failures.merge(String.valueOf(ex.getMessage()).split(":")[0], 1, Integer::sum);
+                }
+                return null;
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            executor.invokeAll(tasks);
+        } finally {
+            executor.shutdown();
+            assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        }
+
+        long leftFirst = 0;
+        long leftSecond = 0;
+        for (Inventory row : inventoryService.getAllInventory()) {
+            Long productId = row.getProduct().getId();
+            if (productId.equals(first.getId())) {
+                assertThat(row.getQuantity()).as("row %d", row.getId()).isNotNegative();
+                leftFirst += row.getQuantity();
+            } else if (productId.equals(second.getId())) {
+                assertThat(row.getQuantity()).as("row %d", row.getId()).isNotNegative();
+                leftSecond += row.getQuantity();
+            }
+        }
+        assertThat(placed.get()).isPositive();
+        assertThat(failures).as("only stock shortages may fail orders").containsOnlyKeys("Insufficient stock for product");
+        assertThat(leftFirst).isEqualTo(150 - takenFirst.get());
+        assertThat(leftSecond).isEqualTo(120 - takenSecond.get());
+    }
+
+    private void stock(Product product, User owner, long quantity) {
+        inventoryService.addInventory(new InventoryRequest(product.getId(), owner.getId(), quantity, null));
+    }
+}
@@ -0,0 +1,154 @@
+package com.infosys.farmtofork.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fault-injecting stand-in for the Python scorer's /score/batch endpoint. By default it answers
+ * every image with a score; tests switch it to a status code, a delay or a hang, and mark single
+ * images as undecodable the way the real scorer reports them.
+ */
+class StubScorer implements AutoCloseable {
+
+    private static final Pattern FILENAME = Pattern.compile("filename=\"([^\"]*)\"");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final AtomicInteger calls = new AtomicInteger();
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final Set<String> undecodable = ConcurrentHashMap.newKeySet();
+
+    private volatile int status = 200;
+    private volatile long delayMs;
+    private volatile CountDownLatch hang;
+    private volatile double score = 80.0;
+
+    StubScorer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/score/batch", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /** Base URL in the form of ai.score.service-url. */
+    String url() {
+        return "http://localhost:" + server.getAddress().getPort() + "/score";
+    }
+
+    void respondWith(int status) {
+        this.status = status;
+    }
+
+    void delay(long delayMs) {
+        this.delayMs = delayMs;
+    }
+
+    void score(double score) {
+        this.score = score;
+    }
+
+    /** Holds every following request without an answer until {@link #release()}. */
+    void hang() {
+        hang = new CountDownLatch(1);
+    }
+
+    void release() {
+        CountDownLatch latch = hang;
+        hang = null;
+        if (latch != null) {
+            latch.countDown();
+        }
+    }
+
+    void undecodable(String hash) {
+        undecodable.add(hash);
+    }
+
+    void healthy() {
+        release();
+        status = 200;
+        delayMs = 0;
+    }
+
+    int calls() {
+        return calls.get();
+    }
+
+    /** Number of images in each request received, in arrival order. */
+    List<Integer> batchSizes() {
+        return new ArrayList<>(batchSizes);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.ISO_8859_1);
+            calls.incrementAndGet();
+            List<String> hashes = new ArrayList<>();
+            Matcher matcher = FILENAME.matcher(body);
+            while (matcher.find()) {
+                hashes.add(matcher.group(1));
+            }
+            batchSizes.add(hashes.size());
+
+            CountDownLatch latch = hang;
+            if (latch != null) {
+                latch.await(1, TimeUnit.MINUTES);
+            }
+            if (delayMs > 0) {
+                Thread.sleep(delayMs);
+            }
+            if (status != 200) {
+                send(exchange, status, "{\"detail\":\"injected failure\"}");
+                return;
+            }
+            StringBuilder json = new StringBuilder("{\"results\":[");
+            for (int i = 0; i < hashes.size(); i++) {
+                if (i > 0) {
+                    json.append(',');
+                }
+                json.append(undecodable.contains(hashes.get(i))
+                        ? "{\"filename\":\"" + hashes.get(i) + "\",\"error\":\"cannot identify image file\"}"
+                        : "{\"ai_score\":" + score + ",\"quality_label\":\"Good\",\"predicted_class\":\"fresh\"}");
+            }
+            send(exchange, 200, json.append("]}").toString());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            // the client gave up on a delayed or hung call; nothing left to answer
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        release();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -1,7 +1,7 @@
 import React, { createContext, useContext, useReducer, useEffect, useCallback } from 'react';
 import { CROP_STATUS, MOCK_TRANSACTIONS, DEFAULT_CROP_IMAGE, MOCK_USERS } from '../utils/constants';
 import { generate8DigitCode } from '../utils/helpers';
-import { apiGetInventory, apiGetUsers } from '../utils/api';
+import { apiGetInventory, apiGetUsers, apiLogout, resolveBackendUrl } from '../utils/api';
 import { USER_ROLES, ROLE_DISPLAY_NAMES } from '../utils/constants';
 
 // Initial state
@@ -185,7 +185,7 @@ export const AppProvider = ({ children }) => {
           }
         })();
 
-    const imageSrc = product.imageUrl || DEFAULT_CROP_IMAGE;
+    const imageSrc = resolveBackendUrl(product.imageUrl) || DEFAULT_CROP_IMAGE;
     const basePrice = typeof product.price === 'number' ? product.price : null;
 
     return {
@@ -275,7 +275,11 @@ export const AppProvider = ({ children }) => {
   // Actions
   const actions = {
     setUser: (user) => dispatch({ type: ActionTypes.SET_USER, payload: user }),
-    logout: () => dispatch({ type: ActionTypes.LOGOUT }),
+    logout: () => {
+      // revoke the token server-side while it is still stored; local logout does not wait on it
+      if (state.user?.token) apiLogout().catch(() => {});
+      dispatch({ type: ActionTypes.LOGOUT });
+    },
     addCrop: (crop) => {
       const uniqueId = typeof crypto !== 'undefined' && crypto.randomUUID
         ? crypto.randomUUID()
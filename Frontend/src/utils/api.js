@@ -3,14 +3,29 @@ export const API_BASE_URL = 'http://localhost:8080/api';
 export const PYTHON_API_BASE_URL = 'http://localhost:8000';
 import { MOCK_USERS, ROLE_DISPLAY_NAMES } from './constants';
 
+// Stored product images are served by the backend under /api/...; make them absolute
+export const resolveBackendUrl = (url) =>
+  url && url.startsWith('/api/') ? `${API_BASE_URL.replace(/\/api$/, '')}${url}` : url;
+
+// Token of the signed-in user as returned by /users/login ("Bearer <jwt>"); demo logins have none
+const authHeader = () => {
+  try {
+    const token = JSON.parse(localStorage.getItem('farmChainXData'))?.user?.token;
+    return typeof token === 'string' && token.startsWith('Bearer ') ? { Authorization: token } : {};
+  } catch {
+    return {};
+  }
+};
+
 // Generic helper for JSON requests (Java backend)
 const jsonRequest = async (path, options = {}) => {
   const res = await fetch(`${API_BASE_URL}${path}`, {
+    ...options,
     headers: {
       'Content-Type': 'application/json',
+      ...authHeader(),
       ...(options.headers || {})
-    },
-    ...options
+    }
   });
 
   if (!res.ok) {
@@ -75,6 +90,9 @@ export const apiLogin = async (email, password, role) => {
   }
 };
 
+export const apiLogout = () =>
+  jsonRequest('/users/logout', { method: 'POST' });
+
 export const apiRegister = (user) =>
   jsonRequest('/users/register', {
     method: 'POST',
@@ -11,6 +11,12 @@ from fastapi.responses import JSONResponse
 from pydantic import BaseModel, Field
 from PIL import Image
 
+try:
+    # registers AVIF with Pillow releases that cannot decode it natively (before 11.2)
+    import pillow_avif  # noqa: F401
+except ImportError:
+    pass
+
 from chatbot_engine import SimpleChatbot, ChatRequest, ChatResponse
 from quality_scorer import CropQualityScorer, CropAIScoreResponse
 
@@ -26,6 +32,10 @@ class Settings(BaseModel):
         "image/jpeg",
         "image/png",
         "image/webp",
+        "image/gif",
+        "image/avif",
+        "image/bmp",
+        "image/tiff",
     ])
     # This path is shown as an example if you want to load a real model.
     crop_model_path: Optional[str] = None
@@ -161,31 +171,85 @@ async def score_image_frontend(payload: ImageScoreRequest) -> Dict[str, Any]:
             detail="Field 'image' is required.",
         )
 
+    image = _decode_data_url(payload.image)
+    return _score_payload(crop_scorer.score_image(image))
+
+
+def _score_payload(score: CropAIScoreResponse) -> Dict[str, Any]:
+    return {
+        "ai_score": score.score,
+        "quality_label": score.quality_label,
+        "details": score.details,
+    }
+
+
+def _open_image(binary: bytes) -> Image.Image:
+    try:
+        return Image.open(io.BytesIO(binary))
+    except Exception as exc:  # noqa: BLE001
+        raise HTTPException(
+            status_code=status.HTTP_400_BAD_REQUEST,
+            detail=f"Invalid image data: {exc}",
+        ) from exc
+
+
+def _decode_data_url(value: str) -> Image.Image:
+    """Decode a Data URL (or raw base64 string) into a PIL image."""
     # Expect a Data URL: "data:image/xxx;base64,AAAA..."
-    if "," in payload.image:
-        header, b64_data = payload.image.split(",", 1)
+    if "," in value:
+        header, b64_data = value.split(",", 1)
     else:
         # If frontend sends only raw base64, still try to decode
-        b64_data = payload.image
+        b64_data = value
 
     try:
         import base64
 
         binary = base64.b64decode(b64_data)
-        image = Image.open(io.BytesIO(binary))
     except Exception as exc:  # noqa: BLE001
         raise HTTPException(
             status_code=status.HTTP_400_BAD_REQUEST,
             detail=f"Invalid base64 image data: {exc}",
         ) from exc
+    return _open_image(binary)
 
-    score = crop_scorer.score_image(image)
 
-    return {
-        "ai_score": score.score,
-        "quality_label": score.quality_label,
-        "details": score.details,
-    }
+# =========================
+# Backend Integration: raw bytes, no base64
+# =========================
+
+@app.post(
+    "/score/batch",
+    status_code=status.HTTP_200_OK,
+    tags=["Python-Backend"],
+)
+async def score_images_batch(
+    files: List[UploadFile] = File(..., description="Crop images, one part per image."),
+) -> Dict[str, Any]:
+    """
+    Micro-batch scoring used by the Java scoring pipeline (multipart/form-data, raw bytes).
+
+    Returns one entry per part, in order; an image that is too large, fails to
+    decode or fails to score yields { "error": "..." } instead of failing the
+    whole batch.
+    """
+    results: List[Dict[str, Any]] = []
+    for file in files:
+        try:
+            data = await file.read()
+            if len(data) > settings.max_image_size_bytes:
+                results.append({"error": "File too large."})
+                continue
+            score = crop_scorer.score_image(_open_image(data))
+        except HTTPException as exc:
+            results.append({"error": exc.detail})
+            continue
+        except Exception as exc:  # noqa: BLE001
+            # PIL decodes lazily, so truncated images only fail inside the scorer
+            results.append({"error": f"Could not score image: {exc}"})
+            continue
+        results.append(_score_payload(score))
+    return {"results": results}
 
 
 # =========================